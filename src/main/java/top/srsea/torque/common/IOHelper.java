@@ -17,10 +17,16 @@
 package top.srsea.torque.common;
 
 import javax.annotation.Nonnull;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 /**
  * Common IO utilities.
@@ -76,4 +82,43 @@ public class IOHelper {
         }
         out.flush();
     }
+
+    /**
+     * Opens the file for buffered reading of primitive values.
+     *
+     * @param path       file to read
+     * @param bufferSize buffer size, must be positive
+     * @throws IOException if an I/O error occurs
+     */
+    public static DataInputStream openDataInput(@Nonnull Path path, int bufferSize) throws IOException {
+        Preconditions.require(bufferSize > 0, "buffer size must be positive.");
+        return new DataInputStream(new BufferedInputStream(Files.newInputStream(path), bufferSize));
+    }
+
+    /**
+     * Opens the file for buffered writing of primitive values, truncating it if it exists.
+     *
+     * @param path       file to write
+     * @param bufferSize buffer size, must be positive
+     * @throws IOException if an I/O error occurs
+     */
+    public static DataOutputStream openDataOutput(@Nonnull Path path, int bufferSize) throws IOException {
+        Preconditions.require(bufferSize > 0, "buffer size must be positive.");
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), bufferSize));
+    }
+
+    /**
+     * Deletes all the files silently.
+     *
+     * @param paths files to delete, null items are skipped
+     */
+    public static void delete(Path... paths) {
+        for (Path path : paths) {
+            if (path == null) continue;
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException ignored) {
+            }
+        }
+    }
 }
@@ -19,6 +19,8 @@ package top.srsea.torque.common;
 import top.srsea.torque.function.Consumer;
 import top.srsea.torque.function.Function;
 import top.srsea.torque.function.Function2;
+import top.srsea.torque.function.Functions;
+import top.srsea.torque.function.Predicate;
 import top.srsea.torque.function.Supplier;
 
 import javax.annotation.Nonnull;
@@ -139,49 +141,89 @@ public abstract class Option<T> implements Iterable<T> {
         return isEmpty() ? Option.<U>none() : mapper.invoke(get());
     }
 
+    /**
+     * @deprecated use {@link #where(Predicate)}, which tests without boxing
+     */
+    @Deprecated
+    public Option<T> filter(Function<? super T, Boolean> pred) {
+        return where(Functions.asPredicate(pred));
+    }
+
     /**
      * Returns this option if it is not empty and pred(value) returns ture.
      * Otherwise returns the None.
      */
-    public Option<T> filter(Function<? super T, Boolean> pred) {
+    public Option<T> where(Predicate<? super T> pred) {
         return isEmpty() || pred.invoke(get()) ? this : Option.<T>none();
     }
 
+    /**
+     * @deprecated use {@link #whereNot(Predicate)}, which tests without boxing
+     */
+    @Deprecated
+    public Option<T> filterNot(Function<? super T, Boolean> pred) {
+        return whereNot(Functions.asPredicate(pred));
+    }
+
     /**
      * Returns this option if it is not empty and pred(value) returns false.
      * Otherwise returns the None.
      */
-    public Option<T> filterNot(Function<? super T, Boolean> pred) {
+    public Option<T> whereNot(Predicate<? super T> pred) {
         return isEmpty() || !pred.invoke(get()) ? this : Option.<T>none();
     }
 
+    /**
+     * @deprecated use {@link #anyMatch(Predicate)}, which tests without boxing
+     */
+    @Deprecated
+    public boolean any(Function<? super T, Boolean> pred) {
+        return anyMatch(Functions.asPredicate(pred));
+    }
+
     /**
      * Returns false if this is empty or pred(value) returns false.
      * Otherwise returns true.
      */
-    public boolean any(Function<? super T, Boolean> pred) {
+    public boolean anyMatch(Predicate<? super T> pred) {
         if (isEmpty()) {
             return false;
         }
         return pred.invoke(get());
     }
 
+    /**
+     * @deprecated use {@link #allMatch(Predicate)}, which tests without boxing
+     */
+    @Deprecated
+    public boolean all(Function<? super T, Boolean> pred) {
+        return allMatch(Functions.asPredicate(pred));
+    }
+
     /**
      * Returns true if this is empty or pred(value) returns true.
      * Otherwise returns false.
      */
-    public boolean all(Function<? super T, Boolean> pred) {
+    public boolean allMatch(Predicate<? super T> pred) {
         if (isEmpty()) {
             return true;
         }
         return pred.invoke(get());
     }
 
+    /**
+     * @deprecated use {@link #noneMatch(Predicate)}, which tests without boxing
+     */
+    @Deprecated
+    public boolean none(Function<? super T, Boolean> pred) {
+        return noneMatch(Functions.asPredicate(pred));
+    }
+
     /**
      * Returns true if this is empty or pred(value) returns false.
      * Otherwise returns false.
      */
-    public boolean none(Function<? super T, Boolean> pred) {
+    public boolean noneMatch(Predicate<? super T> pred) {
         if (isEmpty()) {
             return true;
         }
@@ -18,6 +18,7 @@ package top.srsea.torque.common;
 
 import javax.annotation.Nullable;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Iterator;
 
 /**
@@ -26,6 +27,7 @@ import java.util.Iterator;
  * @author sea
  */
 public class StringHelper {
+    private static final int MAX_ESTIMATED_LENGTH = 1 << 16;
 
     /**
      * Returns if the str is null or ""
@@ -61,7 +63,9 @@ public class StringHelper {
         if (delimiter == null) {
             delimiter = "";
         }
-        StringBuilder builder = new StringBuilder(String.valueOf(iterator.next()));
+        String first = String.valueOf(iterator.next());
+        StringBuilder builder = new StringBuilder(estimateLength(iterable, first.length(), delimiter.length()));
+        builder.append(first);
         while (iterator.hasNext()) {
             builder.append(delimiter);
             builder.append(iterator.next());
@@ -69,6 +73,19 @@ public class StringHelper {
         return builder.toString();
     }
 
+    /**
+     * Estimates the joined length of a collection as if every element were as long as the first,
+     * capped so that an unusually long first element does not allocate a large builder up front.
+     */
+    private static int estimateLength(Iterable<?> iterable, int firstLength, int delimiterLength) {
+        int minimum = Math.max(firstLength, 16);
+        if (!(iterable instanceof Collection)) {
+            return minimum;
+        }
+        long length = firstLength + (long) (firstLength + delimiterLength) * (((Collection<?>) iterable).size() - 1);
+        return (int) Math.max(Math.min(length, MAX_ESTIMATED_LENGTH), minimum);
+    }
+
     /**
      * Joins elements to a string with the delimiter.
      */
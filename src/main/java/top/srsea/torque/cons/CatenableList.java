@@ -0,0 +1,246 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package top.srsea.torque.cons;
+
+import top.srsea.torque.sequence.Sequence;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * A persistent list with constant-time append, prepend and concat.
+ * <p>
+ * A non-empty list is its first element and a queue of non-empty lists, the rest in order,
+ * kept as a reversed {@link List}; concat only enqueues the other list. rest links the queued
+ * lists into one, in time linear in the length of the queue, and keeps the result on the list,
+ * so every later call of rest on the same list, from any version sharing it, takes constant time.
+ * Iteration walks the lists directly, without linking them.
+ *
+ * @param <T> type of element
+ */
+public final class CatenableList<T> implements Iterable<T> {
+    private static final CatenableList<Object> EMPTY = new CatenableList<>(null, null, 0);
+
+    private final T head;
+    private final List<CatenableList<T>> rest;
+    private final int length;
+    /**
+     * The rest linked on the first call of rest. Linking is deterministic and the lists it builds
+     * are immutable, so threads racing to link publish equal results and no lock is needed.
+     */
+    private volatile CatenableList<T> linked;
+
+    /**
+     * @param rest the lists after head, last first
+     */
+    private CatenableList(T head, List<CatenableList<T>> rest, int length) {
+        this.head = head;
+        this.rest = rest;
+        this.length = length;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> CatenableList<T> empty() {
+        return (CatenableList<T>) EMPTY;
+    }
+
+    public static <T> CatenableList<T> single(T elem) {
+        return new CatenableList<>(elem, List.<CatenableList<T>>nil(), 1);
+    }
+
+    @SafeVarargs
+    public static <T> CatenableList<T> of(T... elems) {
+        CatenableList<T> list = empty();
+        for (T elem : elems) {
+            list = list.append(elem);
+        }
+        return list;
+    }
+
+    public static <T> CatenableList<T> from(Iterable<? extends T> iterable) {
+        CatenableList<T> list = empty();
+        for (T elem : iterable) {
+            list = list.append(elem);
+        }
+        return list;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public boolean isEmpty() {
+        return length == 0;
+    }
+
+    public CatenableList<T> append(T elem) {
+        return concat(single(elem));
+    }
+
+    public CatenableList<T> prepend(T elem) {
+        return single(elem).concat(this);
+    }
+
+    public CatenableList<T> concat(CatenableList<T> other) {
+        if (other.isEmpty()) return this;
+        if (isEmpty()) return other;
+        return new CatenableList<>(head, rest.prepend(other), length + other.length);
+    }
+
+    /**
+     * @throws NoSuchElementException if empty
+     */
+    public T first() {
+        if (isEmpty()) throw new NoSuchElementException();
+        return head;
+    }
+
+    /**
+     * @throws NoSuchElementException if empty
+     */
+    public CatenableList<T> rest() {
+        if (isEmpty()) throw new NoSuchElementException();
+        CatenableList<T> result = linked;
+        if (result == null) {
+            result = link();
+            linked = result;
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private CatenableList<T> link() {
+        if (rest.length() == 0) return empty();
+        Object[] lists = queued();
+        CatenableList<T> linked = (CatenableList<T>) lists[lists.length - 1];
+        for (int i = lists.length - 2; i >= 0; --i) {
+            CatenableList<T> list = (CatenableList<T>) lists[i];
+            linked = new CatenableList<>(list.head, list.rest.prepend(linked), list.length + linked.length);
+        }
+        return linked;
+    }
+
+    public List<T> toList() {
+        Object[] elems = new Object[length];
+        int size = 0;
+        for (T elem : this) {
+            elems[size++] = elem;
+        }
+        @SuppressWarnings("unchecked")
+        List<T> list = List.of((T[]) elems);
+        return list;
+    }
+
+    public Sequence<T> toSequence() {
+        return new Sequence<T>() {
+            @Override
+            public Iterator<T> iterator() {
+                return CatenableList.this.iterator();
+            }
+
+            @Override
+            public int exactSize() {
+                return length;
+            }
+        };
+    }
+
+    @Nonnull
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            final Deque<CatenableList<T>> pending = new ArrayDeque<>();
+
+            {
+                if (!isEmpty()) {
+                    pending.push(CatenableList.this);
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return !pending.isEmpty();
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (pending.isEmpty()) throw new NoSuchElementException();
+                CatenableList<T> list = pending.pop();
+                Object[] lists = list.queued();
+                for (int i = lists.length - 1; i >= 0; --i) {
+                    pending.push((CatenableList<T>) lists[i]);
+                }
+                return list.head;
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CatenableList) || ((CatenableList<?>) o).length != length) return false;
+        Iterator<?> other = ((CatenableList<?>) o).iterator();
+        for (T elem : this) {
+            if (!Objects.equals(elem, other.next())) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (T elem : this) {
+            hash = 31 * hash + Objects.hashCode(elem);
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        Iterator<T> iterator = iterator();
+        StringBuilder builder = new StringBuilder("(");
+        while (iterator.hasNext()) {
+            builder.append(iterator.next());
+            if (iterator.hasNext()) {
+                builder.append(',').append(' ');
+            }
+        }
+        builder.append(')');
+        return builder.toString();
+    }
+
+    /**
+     * Returns the queued lists in order, from the reversed list they are kept in.
+     */
+    private Object[] queued() {
+        Object[] lists = new Object[rest.length()];
+        int i = lists.length;
+        for (CatenableList<T> list : rest) {
+            lists[--i] = list;
+        }
+        return lists;
+    }
+}
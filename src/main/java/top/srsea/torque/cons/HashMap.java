@@ -0,0 +1,534 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package top.srsea.torque.cons;
+
+import top.srsea.torque.function.Function;
+import top.srsea.torque.function.Function2;
+import top.srsea.torque.sequence.Sequence;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * A persistent hash map, a hash array mapped trie of 32-way nodes.
+ * <p>
+ * Each node keeps its entries first and its child nodes last, indexed by two bitmaps, and a child
+ * left with a single entry is folded back into its parent, so equal maps have equal tries.
+ * Keys with equal hashes share a collision node below the last level.
+ * get, put, remove and merge take O(log32 n) steps, and updates copy only the path to the entry.
+ * A {@link Builder} updates in place the nodes it owns, for batches of updates.
+ *
+ * @param <K> type of key
+ * @param <V> type of value
+ */
+public final class HashMap<K, V> implements Iterable<Pair<K, V>> {
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+    private static final int MAX_SHIFT = 30;
+    private static final int MAX_DEPTH = MAX_SHIFT / BITS + 2;
+    private static final Object NOT_FOUND = new Object();
+    private static final Node EMPTY_NODE = new Node(null, 0, 0, new Object[0]);
+    private static final HashMap<Object, Object> EMPTY = new HashMap<>(EMPTY_NODE, 0);
+
+    private final Node root;
+    private final int size;
+
+    private HashMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <K, V> HashMap<K, V> empty() {
+        return (HashMap<K, V>) EMPTY;
+    }
+
+    public static <K, V> HashMap<K, V> from(Iterable<? extends Pair<? extends K, ? extends V>> pairs) {
+        Builder<K, V> builder = builder();
+        for (Pair<? extends K, ? extends V> pair : pairs) {
+            builder.put(pair.car, pair.cdr);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Builds the map on the executor of {@link Sequence#parallel()}: the pairs are read once
+     * and bucketed by the first level of their hashes, then each bucket is built independently.
+     * Later pairs replace earlier ones with an equal key, as in {@link #from(Iterable)}.
+     */
+    public static <K, V> HashMap<K, V> fromParallel(Sequence<? extends Pair<? extends K, ? extends V>> pairs) {
+        @SuppressWarnings("unchecked")
+        final ArrayList<Object>[] buckets = (ArrayList<Object>[]) new ArrayList<?>[WIDTH];
+        for (Pair<? extends K, ? extends V> pair : pairs) {
+            int index = hash(pair.car) & MASK;
+            if (buckets[index] == null) {
+                buckets[index] = new ArrayList<>();
+            }
+            buckets[index].add(pair.car);
+            buckets[index].add(pair.cdr);
+        }
+        final int[] counts = new int[WIDTH];
+        java.util.List<Node> children = Sequence.range(0, WIDTH).parallel().map(new Function<Integer, Node>() {
+            @Override
+            public Node invoke(Integer index) {
+                ArrayList<Object> bucket = buckets[index];
+                if (bucket == null) return EMPTY_NODE;
+                Object owner = new Object();
+                Count count = new Count();
+                Node node = EMPTY_NODE;
+                for (int i = 0; i < bucket.size(); i += 2) {
+                    Object key = bucket.get(i);
+                    node = put(owner, node, key, hash(key), bucket.get(i + 1), BITS, count);
+                }
+                counts[index] = count.value;
+                return node;
+            }
+        }).into(new ArrayList<Node>(WIDTH));
+        int dataMap = 0, nodeMap = 0, size = 0;
+        Object[] data = new Object[WIDTH << 1];
+        Node[] nodes = new Node[WIDTH];
+        int dataLength = 0, nodeCount = 0;
+        for (int index = 0; index < WIDTH; ++index) {
+            Node child = children.get(index);
+            size += counts[index];
+            if (counts[index] == 0) continue;
+            if (isSingleton(child)) {
+                dataMap |= 1 << index;
+                data[dataLength++] = child.array[0];
+                data[dataLength++] = child.array[1];
+            } else {
+                nodeMap |= 1 << index;
+                nodes[nodeCount++] = child;
+            }
+        }
+        Object[] array = Arrays.copyOf(data, dataLength + nodeCount);
+        for (int i = 0; i < nodeCount; ++i) {
+            array[array.length - 1 - i] = nodes[i];
+        }
+        return size == 0 ? HashMap.<K, V>empty() : new HashMap<K, V>(new Node(null, dataMap, nodeMap, array), size);
+    }
+
+    public static <K, V> Builder<K, V> builder() {
+        return HashMap.<K, V>empty().toBuilder();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the value of the key, or null if absent.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        Object value = find(root, key, hash(key));
+        return value == NOT_FOUND ? null : (V) value;
+    }
+
+    public boolean containsKey(Object key) {
+        return find(root, key, hash(key)) != NOT_FOUND;
+    }
+
+    /**
+     * Returns a map with the key mapped to the value.
+     */
+    public HashMap<K, V> put(K key, V value) {
+        Count count = new Count();
+        Node newRoot = put(null, root, key, hash(key), value, 0, count);
+        return newRoot == root ? this : new HashMap<K, V>(newRoot, size + count.value);
+    }
+
+    /**
+     * Returns a map without the key.
+     */
+    public HashMap<K, V> remove(Object key) {
+        Count count = new Count();
+        Node newRoot = remove(null, root, key, hash(key), 0, count);
+        if (count.value == 0) return this;
+        return size == 1 ? HashMap.<K, V>empty() : new HashMap<K, V>(newRoot, size - 1);
+    }
+
+    /**
+     * Returns a map with the key mapped to the value if absent, or to the result of combine
+     * with the current value and the value otherwise; the key is removed if the result is null.
+     */
+    public HashMap<K, V> merge(K key, V value, Function2<? super V, ? super V, ? extends V> combine) {
+        V merged = merged(root, key, value, combine);
+        return merged == null ? remove(key) : put(key, merged);
+    }
+
+    /**
+     * Returns a builder starting with the entries of this map, which stays unchanged.
+     */
+    public Builder<K, V> toBuilder() {
+        return new Builder<>(root, size);
+    }
+
+    /**
+     * Returns a sequence of the entries, in the order of the trie.
+     */
+    public Sequence<Pair<K, V>> toSequence() {
+        return new Sequence<Pair<K, V>>() {
+            @Override
+            public Iterator<Pair<K, V>> iterator() {
+                return HashMap.this.iterator();
+            }
+
+            @Override
+            public int exactSize() {
+                return size;
+            }
+        };
+    }
+
+    @Nonnull
+    @Override
+    public Iterator<Pair<K, V>> iterator() {
+        return new Iterator<Pair<K, V>>() {
+            final Node[] nodes = new Node[MAX_DEPTH];
+            final int[] positions = new int[MAX_DEPTH];
+            int depth = 0;
+
+            {
+                nodes[0] = root;
+            }
+
+            @Override
+            public boolean hasNext() {
+                while (depth >= 0) {
+                    Node node = nodes[depth];
+                    int position = positions[depth];
+                    if (position < dataLength(node)) {
+                        return true;
+                    }
+                    if (position < node.array.length) {
+                        positions[depth] = position + 1;
+                        nodes[++depth] = (Node) node.array[position];
+                        positions[depth] = 0;
+                    } else {
+                        nodes[depth--] = null;
+                    }
+                }
+                return false;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public Pair<K, V> next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                Object[] array = nodes[depth].array;
+                int position = positions[depth];
+                positions[depth] = position + 2;
+                return new Pair<>((K) array[position], (V) array[position + 1]);
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof HashMap) || ((HashMap<?, ?>) o).size != size) return false;
+        Node other = ((HashMap<?, ?>) o).root;
+        for (Pair<K, V> entry : this) {
+            Object value = find(other, entry.car, hash(entry.car));
+            if (value == NOT_FOUND || !Objects.equals(value, entry.cdr)) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (Pair<K, V> entry : this) {
+            hash += Objects.hashCode(entry.car) ^ Objects.hashCode(entry.cdr);
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        Iterator<Pair<K, V>> iterator = iterator();
+        StringBuilder builder = new StringBuilder("(");
+        while (iterator.hasNext()) {
+            builder.append(iterator.next());
+            if (iterator.hasNext()) {
+                builder.append(',').append(' ');
+            }
+        }
+        builder.append(')');
+        return builder.toString();
+    }
+
+    private static int hash(Object key) {
+        int h = Objects.hashCode(key);
+        return h ^ (h >>> 16);
+    }
+
+    private static int bit(int hash, int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    private static int index(int bitmap, int bit) {
+        return Integer.bitCount(bitmap & (bit - 1));
+    }
+
+    /**
+     * Returns the length of the entries part of the node's array; a collision node has only entries.
+     */
+    private static int dataLength(Node node) {
+        return node.nodeMap == 0 && node.dataMap == 0 ? node.array.length : Integer.bitCount(node.dataMap) << 1;
+    }
+
+    private static boolean isSingleton(Node node) {
+        return node.nodeMap == 0 && node.array.length == 2;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> V merged(Node root, K key, V value, Function2<? super V, ? super V, ? extends V> combine) {
+        Object current = find(root, key, hash(key));
+        return current == NOT_FOUND ? value : combine.invoke((V) current, value);
+    }
+
+    private static Object find(Node node, Object key, int hash) {
+        for (int shift = 0; ; shift += BITS) {
+            Object[] array = node.array;
+            if (shift > MAX_SHIFT) {
+                for (int i = 0; i < array.length; i += 2) {
+                    if (Objects.equals(array[i], key)) return array[i + 1];
+                }
+                return NOT_FOUND;
+            }
+            int bit = bit(hash, shift);
+            if ((node.dataMap & bit) != 0) {
+                int i = index(node.dataMap, bit) << 1;
+                return Objects.equals(array[i], key) ? array[i + 1] : NOT_FOUND;
+            }
+            if ((node.nodeMap & bit) == 0) return NOT_FOUND;
+            node = (Node) array[array.length - 1 - index(node.nodeMap, bit)];
+        }
+    }
+
+    /**
+     * Returns the node, if the owner may edit it in place, or a copy owned by the owner.
+     * A null owner owns nothing, so persistent operations always copy.
+     */
+    private static Node editable(Node node, Object owner) {
+        if (owner != null && node.owner == owner) return node;
+        return new Node(owner, node.dataMap, node.nodeMap, node.array.clone());
+    }
+
+    private static Node update(Node node, Object owner, int dataMap, int nodeMap, Object[] array) {
+        if (owner != null && node.owner == owner) {
+            node.dataMap = dataMap;
+            node.nodeMap = nodeMap;
+            node.array = array;
+            return node;
+        }
+        return new Node(owner, dataMap, nodeMap, array);
+    }
+
+    private static Node setValue(Node node, Object owner, int i, Object value) {
+        if (node.array[i] == value) return node;
+        Node result = editable(node, owner);
+        result.array[i] = value;
+        return result;
+    }
+
+    private static Node put(Object owner, Node node, Object key, int hash, Object value, int shift, Count count) {
+        Object[] array = node.array;
+        if (shift > MAX_SHIFT) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (Objects.equals(array[i], key)) return setValue(node, owner, i + 1, value);
+            }
+            Object[] grown = Arrays.copyOf(array, array.length + 2);
+            grown[array.length] = key;
+            grown[array.length + 1] = value;
+            ++count.value;
+            return update(node, owner, 0, 0, grown);
+        }
+        int bit = bit(hash, shift);
+        if ((node.dataMap & bit) != 0) {
+            int i = index(node.dataMap, bit) << 1;
+            Object current = array[i];
+            if (Objects.equals(current, key)) return setValue(node, owner, i + 1, value);
+            Node child = pair(owner, current, hash(current), array[i + 1], key, hash, value, shift + BITS);
+            int slot = array.length - 2 - index(node.nodeMap, bit);
+            Object[] moved = new Object[array.length - 1];
+            System.arraycopy(array, 0, moved, 0, i);
+            System.arraycopy(array, i + 2, moved, i, slot - i);
+            moved[slot] = child;
+            System.arraycopy(array, slot + 2, moved, slot + 1, array.length - slot - 2);
+            ++count.value;
+            return update(node, owner, node.dataMap ^ bit, node.nodeMap | bit, moved);
+        }
+        if ((node.nodeMap & bit) != 0) {
+            int slot = array.length - 1 - index(node.nodeMap, bit);
+            Node child = (Node) array[slot];
+            return setValue(node, owner, slot, put(owner, child, key, hash, value, shift + BITS, count));
+        }
+        int i = index(node.dataMap, bit) << 1;
+        Object[] grown = new Object[array.length + 2];
+        System.arraycopy(array, 0, grown, 0, i);
+        grown[i] = key;
+        grown[i + 1] = value;
+        System.arraycopy(array, i, grown, i + 2, array.length - i);
+        ++count.value;
+        return update(node, owner, node.dataMap | bit, node.nodeMap, grown);
+    }
+
+    private static Node pair(Object owner, Object key0, int hash0, Object value0,
+                             Object key1, int hash1, Object value1, int shift) {
+        if (shift > MAX_SHIFT) {
+            return new Node(owner, 0, 0, new Object[]{key0, value0, key1, value1});
+        }
+        int fragment0 = (hash0 >>> shift) & MASK, fragment1 = (hash1 >>> shift) & MASK;
+        if (fragment0 == fragment1) {
+            return new Node(owner, 0, 1 << fragment0,
+                    new Object[]{pair(owner, key0, hash0, value0, key1, hash1, value1, shift + BITS)});
+        }
+        Object[] array = fragment0 < fragment1
+                ? new Object[]{key0, value0, key1, value1} : new Object[]{key1, value1, key0, value0};
+        return new Node(owner, 1 << fragment0 | 1 << fragment1, 0, array);
+    }
+
+    private static Node remove(Object owner, Node node, Object key, int hash, int shift, Count count) {
+        Object[] array = node.array;
+        if (shift > MAX_SHIFT) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (Objects.equals(array[i], key)) {
+                    --count.value;
+                    return update(node, owner, 0, 0, without(array, i));
+                }
+            }
+            return node;
+        }
+        int bit = bit(hash, shift);
+        if ((node.dataMap & bit) != 0) {
+            int i = index(node.dataMap, bit) << 1;
+            if (!Objects.equals(array[i], key)) return node;
+            --count.value;
+            return update(node, owner, node.dataMap ^ bit, node.nodeMap, without(array, i));
+        }
+        if ((node.nodeMap & bit) == 0) return node;
+        int slot = array.length - 1 - index(node.nodeMap, bit);
+        Node child = (Node) array[slot];
+        int before = count.value;
+        Node updated = remove(owner, child, key, hash, shift + BITS, count);
+        if (count.value == before) return node;
+        if (!isSingleton(updated)) return setValue(node, owner, slot, updated);
+        int i = index(node.dataMap, bit) << 1;
+        Object[] moved = new Object[array.length + 1];
+        System.arraycopy(array, 0, moved, 0, i);
+        moved[i] = updated.array[0];
+        moved[i + 1] = updated.array[1];
+        System.arraycopy(array, i, moved, i + 2, slot - i);
+        System.arraycopy(array, slot + 1, moved, slot + 2, array.length - slot - 1);
+        return update(node, owner, node.dataMap | bit, node.nodeMap ^ bit, moved);
+    }
+
+    private static Object[] without(Object[] array, int i) {
+        Object[] shrunk = new Object[array.length - 2];
+        System.arraycopy(array, 0, shrunk, 0, i);
+        System.arraycopy(array, i + 2, shrunk, i, array.length - i - 2);
+        return shrunk;
+    }
+
+    private static final class Count {
+        int value;
+    }
+
+    /**
+     * A trie node; the fields change only while the node is owned by the builder that created it.
+     */
+    private static final class Node {
+        final Object owner;
+        int dataMap, nodeMap;
+        Object[] array;
+
+        Node(Object owner, int dataMap, int nodeMap, Object[] array) {
+            this.owner = owner;
+            this.dataMap = dataMap;
+            this.nodeMap = nodeMap;
+            this.array = array;
+        }
+    }
+
+    /**
+     * Puts and removes in place, in the nodes created since the last build,
+     * and copies the nodes it shares with built maps on the first write.
+     *
+     * @param <K> type of key
+     * @param <V> type of value
+     */
+    public static final class Builder<K, V> {
+        private Object owner = new Object();
+        private Node root;
+        private final Count size = new Count();
+
+        private Builder(Node root, int size) {
+            this.root = root;
+            this.size.value = size;
+        }
+
+        public int size() {
+            return size.value;
+        }
+
+        @SuppressWarnings("unchecked")
+        public V get(Object key) {
+            Object value = find(root, key, hash(key));
+            return value == NOT_FOUND ? null : (V) value;
+        }
+
+        public Builder<K, V> put(K key, V value) {
+            root = HashMap.put(owner, root, key, hash(key), value, 0, size);
+            return this;
+        }
+
+        public Builder<K, V> remove(Object key) {
+            root = HashMap.remove(owner, root, key, hash(key), 0, size);
+            return this;
+        }
+
+        public Builder<K, V> merge(K key, V value, Function2<? super V, ? super V, ? extends V> combine) {
+            V merged = merged(root, key, value, combine);
+            return merged == null ? remove(key) : put(key, merged);
+        }
+
+        /**
+         * Returns a map of the entries so far; the builder can still be used afterwards.
+         */
+        public HashMap<K, V> build() {
+            if (size.value == 0) return empty();
+            owner = new Object();
+            return new HashMap<>(root, size.value);
+        }
+    }
+}
@@ -0,0 +1,367 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package top.srsea.torque.cons;
+
+import top.srsea.torque.function.Function;
+import top.srsea.torque.function.Function2;
+import top.srsea.torque.function.Predicate;
+import top.srsea.torque.function.Supplier;
+import top.srsea.torque.sequence.Sequence;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A list whose cells are computed on first access, and then kept, so every consumer
+ * of a list sees the same elements and shares the work done on its prefix.
+ * <p>
+ * map, filter, take, drop, zip and concat return immediately, each cell computing at most one cell
+ * of its source, or looping over the source cells it skips, so forcing a cell never recurses
+ * along the list. concat keeps the lists after the first in a queue and opens concats of concats
+ * into it, so any number of accumulated concats is stack-safe. The other operators do recurse
+ * through their stack: forcing a cell of a list built by n nested calls of map, filter, take, drop
+ * or zip nests n calls, so build deep pipelines from one combined function instead. A list holds
+ * on to all the cells computed after it.
+ *
+ * @param <T> type of element
+ */
+public final class LazyList<T> implements Iterable<T> {
+    private static final Cell<Object> NIL = new Cell<>(null, null);
+    private static final LazyList<Object> EMPTY = new LazyList<>(NIL);
+
+    private volatile Cell<T> cell;
+    private Supplier<Cell<T>> thunk;
+
+    private LazyList(Supplier<Cell<T>> thunk) {
+        this.thunk = thunk;
+    }
+
+    private LazyList(Cell<T> cell) {
+        this.cell = cell;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> LazyList<T> empty() {
+        return (LazyList<T>) EMPTY;
+    }
+
+    public static <T> LazyList<T> cons(T head, LazyList<T> tail) {
+        return new LazyList<>(new Cell<>(head, tail));
+    }
+
+    /**
+     * Returns a list computed by the supplier on first access.
+     */
+    public static <T> LazyList<T> defer(final Supplier<? extends LazyList<T>> supplier) {
+        return new LazyList<>(new Supplier<Cell<T>>() {
+            @Override
+            public Cell<T> get() {
+                LazyList<T> list = supplier.get();
+                return list.force();
+            }
+        });
+    }
+
+    @SafeVarargs
+    public static <T> LazyList<T> of(T... elems) {
+        LazyList<T> list = empty();
+        for (int i = elems.length - 1; i >= 0; --i) {
+            list = cons(elems[i], list);
+        }
+        return list;
+    }
+
+    /**
+     * Returns the elements of the iterable, read from one iterator as the cells are computed.
+     */
+    public static <T> LazyList<T> from(final Iterable<? extends T> iterable) {
+        if (iterable instanceof LazyList) {
+            @SuppressWarnings("unchecked")
+            LazyList<T> list = (LazyList<T>) iterable;
+            return list;
+        }
+        return new LazyList<>(new Supplier<Cell<T>>() {
+            @Override
+            public Cell<T> get() {
+                return next(iterable.iterator());
+            }
+        });
+    }
+
+    /**
+     * Returns the infinite list of seed, next(seed), next(next(seed)), and so on.
+     */
+    public static <T> LazyList<T> iterate(final T seed, final Function<? super T, ? extends T> next) {
+        return new LazyList<>(new Cell<>(seed, new LazyList<>(new Supplier<Cell<T>>() {
+            @Override
+            public Cell<T> get() {
+                return iterate(next.invoke(seed), next).force();
+            }
+        })));
+    }
+
+    private static <T> Cell<T> next(final Iterator<? extends T> iterator) {
+        if (!iterator.hasNext()) return nil();
+        return new Cell<T>(iterator.next(), new LazyList<>(new Supplier<Cell<T>>() {
+            @Override
+            public Cell<T> get() {
+                return next(iterator);
+            }
+        }));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Cell<T> nil() {
+        return (Cell<T>) NIL;
+    }
+
+    public boolean isEmpty() {
+        return force() == NIL;
+    }
+
+    /**
+     * @throws NoSuchElementException if empty
+     */
+    public T head() {
+        return nonEmpty().head;
+    }
+
+    /**
+     * @throws NoSuchElementException if empty
+     */
+    public LazyList<T> tail() {
+        return nonEmpty().tail;
+    }
+
+    public <U> LazyList<U> map(final Function<? super T, ? extends U> transform) {
+        return new LazyList<>(new Supplier<Cell<U>>() {
+            @Override
+            public Cell<U> get() {
+                Cell<T> cell = force();
+                if (cell == NIL) return nil();
+                return new Cell<U>(transform.invoke(cell.head), cell.tail.map(transform));
+            }
+        });
+    }
+
+    public LazyList<T> filter(final Predicate<? super T> pred) {
+        return new LazyList<>(new Supplier<Cell<T>>() {
+            @Override
+            public Cell<T> get() {
+                for (LazyList<T> current = LazyList.this; ; ) {
+                    Cell<T> cell = current.force();
+                    if (cell == NIL) return cell;
+                    if (pred.invoke(cell.head)) return new Cell<>(cell.head, cell.tail.filter(pred));
+                    current = cell.tail;
+                }
+            }
+        });
+    }
+
+    public LazyList<T> take(final int n) {
+        if (n <= 0) return empty();
+        return new LazyList<>(new Supplier<Cell<T>>() {
+            @Override
+            public Cell<T> get() {
+                Cell<T> cell = force();
+                if (cell == NIL) return cell;
+                return new Cell<>(cell.head, cell.tail.take(n - 1));
+            }
+        });
+    }
+
+    public LazyList<T> drop(final int n) {
+        if (n <= 0) return this;
+        return new LazyList<>(new Supplier<Cell<T>>() {
+            @Override
+            public Cell<T> get() {
+                LazyList<T> current = LazyList.this;
+                for (int i = n; i > 0; --i) {
+                    Cell<T> cell = current.force();
+                    if (cell == NIL) return cell;
+                    current = cell.tail;
+                }
+                return current.force();
+            }
+        });
+    }
+
+    public <U, R> LazyList<R> zip(final LazyList<U> other, final Function2<? super T, ? super U, ? extends R> zipper) {
+        return new LazyList<>(new Supplier<Cell<R>>() {
+            @Override
+            public Cell<R> get() {
+                Cell<T> cell = force();
+                if (cell == NIL) return nil();
+                Cell<U> otherCell = other.force();
+                if (otherCell == NIL) return nil();
+                return new Cell<R>(zipper.invoke(cell.head, otherCell.head), cell.tail.zip(otherCell.tail, zipper));
+            }
+        });
+    }
+
+    public <U> LazyList<Pair<T, U>> zip(LazyList<U> other) {
+        return zip(other, new Function2<T, U, Pair<T, U>>() {
+            @Override
+            public Pair<T, U> invoke(T x, U y) {
+                return new Pair<>(x, y);
+            }
+        });
+    }
+
+    public LazyList<T> concat(LazyList<T> other) {
+        return new LazyList<>(new Concat<>(this, CatenableList.single(other)));
+    }
+
+    /**
+     * Computes every cell, does not return on infinite lists.
+     */
+    public int length() {
+        int length = 0;
+        for (Cell<T> cell = force(); cell != NIL; cell = cell.tail.force()) {
+            ++length;
+        }
+        return length;
+    }
+
+    /**
+     * Computes every cell into a strict list, does not return on infinite lists.
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> toList() {
+        ArrayList<T> elems = new ArrayList<>();
+        for (T elem : this) {
+            elems.add(elem);
+        }
+        return List.of((T[]) elems.toArray());
+    }
+
+    public Sequence<T> toSequence() {
+        return Sequence.from(this);
+    }
+
+    @Nonnull
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            LazyList<T> current = LazyList.this;
+
+            @Override
+            public boolean hasNext() {
+                return current.force() != NIL;
+            }
+
+            @Override
+            public T next() {
+                Cell<T> cell = current.nonEmpty();
+                current = cell.tail;
+                return cell.head;
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    /**
+     * Shows the computed prefix only, followed by "..." if the rest is not computed yet.
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("(");
+        Cell<T> cell = this.cell;
+        while (cell != null && cell != NIL) {
+            if (builder.length() > 1) {
+                builder.append(',').append(' ');
+            }
+            builder.append(cell.head);
+            cell = cell.tail.cell;
+        }
+        if (cell == null) {
+            builder.append(builder.length() > 1 ? ", ..." : "...");
+        }
+        builder.append(')');
+        return builder.toString();
+    }
+
+    private Cell<T> nonEmpty() {
+        Cell<T> cell = force();
+        if (cell == NIL) throw new NoSuchElementException();
+        return cell;
+    }
+
+    private Cell<T> force() {
+        Cell<T> result = cell;
+        if (result == null) {
+            synchronized (this) {
+                result = cell;
+                if (result == null) {
+                    result = thunk.get();
+                    cell = result;
+                    thunk = null;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Computes the first cell of front followed by the queued lists. Lists still waiting on a concat
+     * are opened into the queue instead of forced, so accumulated concats never nest.
+     */
+    private static final class Concat<T> implements Supplier<Cell<T>> {
+        final LazyList<T> front;
+        final CatenableList<LazyList<T>> rest;
+
+        Concat(LazyList<T> front, CatenableList<LazyList<T>> rest) {
+            this.front = front;
+            this.rest = rest;
+        }
+
+        @Override
+        public Cell<T> get() {
+            LazyList<T> current = front;
+            CatenableList<LazyList<T>> pending = rest;
+            for (; ; ) {
+                Supplier<Cell<T>> thunk = current.thunk;
+                if (thunk instanceof Concat) {
+                    Concat<T> concat = (Concat<T>) thunk;
+                    current = concat.front;
+                    pending = concat.rest.concat(pending);
+                    continue;
+                }
+                Cell<T> cell = current.force();
+                if (pending.isEmpty()) return cell;
+                if (cell != NIL) return new Cell<>(cell.head, new LazyList<>(new Concat<>(cell.tail, pending)));
+                current = pending.first();
+                pending = pending.rest();
+            }
+        }
+    }
+
+    private static final class Cell<T> {
+        final T head;
+        final LazyList<T> tail;
+
+        Cell(T head, LazyList<T> tail) {
+            this.head = head;
+            this.tail = tail;
+        }
+    }
+}
@@ -16,33 +16,44 @@
 
 package top.srsea.torque.cons;
 
+import top.srsea.torque.function.BiPredicate;
 import top.srsea.torque.function.Consumer;
 import top.srsea.torque.function.Function;
 import top.srsea.torque.function.Function2;
+import top.srsea.torque.function.Functions;
+import top.srsea.torque.function.Predicate;
 
 import javax.annotation.Nonnull;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 
 public class List<T> extends Pair<T, List<T>> implements Iterable<T> {
+    private final int length;
 
     public List(T car, List<T> cdr) {
         super(car, cdr);
+        this.length = cdr == null ? 1 : cdr.length + 1;
     }
 
     public List(T car) {
-        super(car, List.<T>nil());
+        this(car, List.<T>nil());
+    }
+
+    List() {
+        super(null, null);
+        this.length = 0;
     }
 
     @SafeVarargs
     public static <T> List<T> of(T... elems) {
-        return create(elems, 0);
+        return build(elems, elems.length, List.<T>nil());
     }
 
     @SafeVarargs
     public static <T> List<T> list(T... elems) {
-        return create(elems, 0);
+        return build(elems, elems.length, List.<T>nil());
     }
 
     public static <T> List<T> cons(T car, List<T> cdr) {
@@ -54,23 +65,54 @@ public class List<T> extends Pair<T, List<T>> implements Iterable<T> {
         return (List<T>) Nil.INSTANCE;
     }
 
-    private static <T> List<T> create(T[] arr, int offset) {
-        if (arr.length == offset) return nil();
-        return cons(arr[offset], create(arr, offset + 1));
+    /**
+     * Conses the first size elements onto the tail, from the last one, so the list is built without recursion.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> build(Object[] elems, int size, List<T> tail) {
+        List<T> list = tail;
+        for (int i = size - 1; i >= 0; --i) {
+            list = cons((T) elems[i], list);
+        }
+        return list;
+    }
+
+    private static Object[] grow(Object[] elems, int size) {
+        return size < elems.length ? elems : Arrays.copyOf(elems, Math.max(size << 1, 16));
     }
 
     public static <T> List<T> flatten(List<List<T>> lists) {
-        return lists.foldRight(List.<T>nil(), new Function2<List<T>, List<T>, List<T>>() {
-            @Override
-            public List<T> invoke(List<T> x, List<T> y) {
-                return x.concat(y);
+        return flatten(lists.toArray(), lists.length);
+    }
+
+    /**
+     * Links the first size lists in one pass: the last non-empty one is shared as the tail,
+     * and each earlier one is copied exactly once.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> flatten(Object[] lists, int size) {
+        int last = size - 1;
+        while (last >= 0 && ((List<T>) lists[last]).length == 0) {
+            --last;
+        }
+        if (last < 0) return nil();
+        int length = 0;
+        for (int i = 0; i < last; ++i) {
+            length += ((List<T>) lists[i]).length;
+        }
+        Object[] elems = new Object[length];
+        int index = 0;
+        for (int i = 0; i < last; ++i) {
+            for (List<T> current = (List<T>) lists[i]; current != nil(); current = current.cdr) {
+                elems[index++] = current.car;
             }
-        });
+        }
+        return build(elems, length, (List<T>) lists[last]);
     }
 
     public List<T> concat(List<T> other) {
         if (this == nil()) return other;
-        return cons(car, cdr.concat(other));
+        return build(toArray(), length, other);
     }
 
     public List<T> prepend(T elem) {
@@ -78,13 +120,14 @@ public class List<T> extends Pair<T, List<T>> implements Iterable<T> {
     }
 
     public List<T> append(T elem) {
-        if (this == nil()) return cons(elem, this);
-        return cons(car, cdr.append(elem));
+        return build(toArray(), length, cons(elem, List.<T>nil()));
     }
 
+    /**
+     * Returns the length, cached in each node.
+     */
     public int length() {
-        if (this == nil()) return 0;
-        return 1 + cdr.length();
+        return length;
     }
 
     public T first() {
@@ -96,82 +139,153 @@ public class List<T> extends Pair<T, List<T>> implements Iterable<T> {
     }
 
     public List<T> nth(int index) {
-        if (this == nil() || index < 0) return nil();
-        if (index == 0) return this;
-        return cdr.nth(--index);
+        if (index < 0 || index >= length) return nil();
+        List<T> current = this;
+        for (; index > 0; --index) {
+            current = current.cdr;
+        }
+        return current;
     }
 
     public List<T> last() {
-        if (this == nil() || cdr == nil()) return this;
-        return cdr.last();
+        if (this == nil()) return this;
+        List<T> current = this;
+        while (current.cdr != nil()) {
+            current = current.cdr;
+        }
+        return current;
     }
 
     public <U> List<U> map(Function<? super T, ? extends U> transform) {
-        if (this == nil()) return nil();
-        return cons(transform.invoke(car), cdr.map(transform));
+        Object[] elems = new Object[length];
+        int size = 0;
+        for (List<T> current = this; current != nil(); current = current.cdr) {
+            elems[size++] = transform.invoke(current.car);
+        }
+        return build(elems, size, List.<U>nil());
     }
 
     public <U> List<U> flatMap(Function<? super T, ? extends List<U>> transform) {
-        if (this == nil()) return nil();
-        return flatten(map(transform));
+        Object[] lists = new Object[length];
+        int size = 0;
+        for (List<T> current = this; current != nil(); current = current.cdr) {
+            lists[size++] = transform.invoke(current.car);
+        }
+        return flatten(lists, size);
     }
 
+    /**
+     * @deprecated use {@link #where(Predicate)}, which tests without boxing
+     */
+    @Deprecated
     public List<T> filter(Function<? super T, Boolean> pred) {
-        if (this == nil()) return nil();
-        if (pred.invoke(car)) return cons(car, cdr.filter(pred));
-        return cdr.filter(pred);
+        return where(Functions.asPredicate(pred));
+    }
+
+    public List<T> where(Predicate<? super T> pred) {
+        Object[] elems = new Object[length];
+        int size = 0;
+        for (List<T> current = this; current != nil(); current = current.cdr) {
+            if (pred.invoke(current.car)) {
+                elems[size++] = current.car;
+            }
+        }
+        return build(elems, size, List.<T>nil());
     }
 
     public <R> R foldLeft(R init, Function2<? super R, ? super T, ? extends R> op) {
-        if (this == nil()) return init;
-        return cdr.foldLeft(op.invoke(init, car), op);
+        for (List<T> current = this; current != nil(); current = current.cdr) {
+            init = op.invoke(init, current.car);
+        }
+        return init;
     }
 
+    @SuppressWarnings("unchecked")
     public <R> R foldRight(R init, Function2<? super T, ? super R, ? extends R> op) {
-        if (this == nil()) return init;
-        return op.invoke(car, cdr.foldRight(init, op));
+        Object[] elems = toArray();
+        for (int i = elems.length - 1; i >= 0; --i) {
+            init = op.invoke((T) elems[i], init);
+        }
+        return init;
     }
 
     public List<T> reverse() {
-        return reverse(List.<T>nil());
+        List<T> reversed = nil();
+        for (List<T> current = this; current != nil(); current = current.cdr) {
+            reversed = cons(current.car, reversed);
+        }
+        return reversed;
     }
 
-    private List<T> reverse(List<T> rest) {
-        if (this == nil()) return rest;
-        return cdr.reverse(cons(car, rest));
+    /**
+     * @deprecated use {@link #spanWhile(Predicate)}, which tests without boxing
+     */
+    @Deprecated
+    public Pair<List<T>, List<T>> span(Function<? super T, Boolean> pred) {
+        return spanWhile(Functions.asPredicate(pred));
     }
 
-    public Pair<List<T>, List<T>> span(Function<? super T, Boolean> pred) {
-        if (this == nil()) return new Pair<>(List.<T>nil(), List.<T>nil());
-        if (!pred.invoke(car)) return new Pair<>(List.<T>nil(), this);
-        Pair<List<T>, List<T>> spanCdr = cdr.span(pred);
-        return new Pair<>(cons(car, spanCdr.car), spanCdr.cdr);
+    public Pair<List<T>, List<T>> spanWhile(Predicate<? super T> pred) {
+        Object[] elems = new Object[0];
+        int size = 0;
+        List<T> rest = this;
+        while (rest != nil() && pred.invoke(rest.car)) {
+            elems = grow(elems, size);
+            elems[size++] = rest.car;
+            rest = rest.cdr;
+        }
+        return new Pair<>(build(elems, size, List.<T>nil()), rest);
     }
 
-    public List<List<T>> group(final Function2<? super T, ? super T, Boolean> eq) {
-        if (this == nil()) return nil();
-        Pair<List<T>, List<T>> spanCdr = cdr.span(new Function<T, Boolean>() {
-            @Override
-            public Boolean invoke(T val) {
-                return eq.invoke(car, val);
-            }
-        });
-        return cons(cons(car, spanCdr.car), spanCdr.cdr.group(eq));
+    /**
+     * @deprecated use {@link #groupWith(BiPredicate)}, which tests without boxing
+     */
+    @Deprecated
+    public List<List<T>> group(Function2<? super T, ? super T, Boolean> eq) {
+        return groupWith(Functions.asPredicate(eq));
+    }
+
+    public List<List<T>> groupWith(final BiPredicate<? super T, ? super T> eq) {
+        Object[] groups = new Object[0];
+        int size = 0;
+        List<T> rest = this;
+        while (rest != nil()) {
+            final T car = rest.car;
+            Pair<List<T>, List<T>> spanCdr = rest.cdr.spanWhile(new Predicate<T>() {
+                @Override
+                public boolean invoke(T val) {
+                    return eq.invoke(car, val);
+                }
+            });
+            groups = grow(groups, size);
+            groups[size++] = cons(car, spanCdr.car);
+            rest = spanCdr.cdr;
+        }
+        return build(groups, size, List.<List<T>>nil());
     }
 
     public List<List<T>> group() {
-        return group(new Function2<T, T, Boolean>() {
+        return groupWith(new BiPredicate<T, T>() {
             @Override
-            public Boolean invoke(T x, T y) {
+            public boolean invoke(T x, T y) {
                 return Objects.equals(x, y);
             }
         });
     }
 
     public void foreach(Consumer<? super T> action) {
-        if (this == nil()) return;
-        action.accept(car);
-        cdr.foreach(action);
+        for (List<T> current = this; current != nil(); current = current.cdr) {
+            action.accept(current.car);
+        }
+    }
+
+    private Object[] toArray() {
+        Object[] elems = new Object[length];
+        int size = 0;
+        for (List<T> current = this; current != nil(); current = current.cdr) {
+            elems[size++] = current.car;
+        }
+        return elems;
     }
 
     @Nonnull
@@ -24,7 +24,6 @@ public final class Nil<T> extends List<T> {
     public static final Nil<Object> INSTANCE = new Nil<>();
 
     private Nil() {
-        super(null, null);
     }
 
     @Nonnull
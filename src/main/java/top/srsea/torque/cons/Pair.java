@@ -35,17 +35,49 @@ public class Pair<A, D> {
         return cdr;
     }
 
+    /**
+     * Compares the cars, then the cdrs, walking chains of plain pairs and lists in a loop instead of recursing.
+     */
     @Override
     public boolean equals(Object o) {
-        if (!(o instanceof Pair)) {
-            return false;
+        Pair<?, ?> pair = this;
+        while (true) {
+            if (!(o instanceof Pair)) {
+                return false;
+            }
+            Pair<?, ?> other = (Pair<?, ?>) o;
+            if (!Objects.equals(other.car, pair.car)) {
+                return false;
+            }
+            if (other.cdr == pair.cdr) {
+                return true;
+            }
+            if (!isPlain(other.cdr)) {
+                return other.cdr != null && other.cdr.equals(pair.cdr);
+            }
+            o = pair.cdr;
+            pair = (Pair<?, ?>) other.cdr;
         }
-        return Objects.equals(((Pair<?, ?>) o).car, car) && Objects.equals(((Pair<?, ?>) o).cdr, cdr);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hashCode(car) ^ Objects.hashCode(cdr);
+        int hash = 0;
+        Pair<?, ?> pair = this;
+        while (true) {
+            hash ^= Objects.hashCode(pair.car);
+            if (!isPlain(pair.cdr)) {
+                return hash ^ Objects.hashCode(pair.cdr);
+            }
+            pair = (Pair<?, ?>) pair.cdr;
+        }
+    }
+
+    /**
+     * Returns whether the object is a pair or a list whose equals and hashCode are the ones of this class.
+     */
+    private static boolean isPlain(Object o) {
+        return o != null && (o.getClass() == Pair.class || o.getClass() == List.class);
     }
 
     @Override
@@ -0,0 +1,440 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package top.srsea.torque.cons;
+
+import top.srsea.torque.sequence.IndexedSequence;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * A persistent vector, a bit-partitioned trie of 32-way nodes with the last leaf kept aside as the tail.
+ * <p>
+ * get, update and append take O(log32 n) steps, effectively constant; updates copy only the path to the leaf,
+ * and share the rest of the trie. slice is a constant-time view, which keeps the whole trie reachable.
+ * A {@link Builder} appends in place into nodes it owns, for bulk construction.
+ *
+ * @param <T> type of element
+ */
+public final class Vector<T> implements Iterable<T> {
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+    private static final Node EMPTY_NODE = new Node(null, new Object[WIDTH]);
+    private static final Vector<Object> EMPTY = new Vector<>(0, BITS, EMPTY_NODE, new Object[0], 0, 0);
+
+    /**
+     * The trie holds count elements, of which the window from offset of size elements is visible.
+     */
+    private final int count, shift;
+    private final Node root;
+    private final Object[] tail;
+    private final int offset, size;
+
+    private Vector(int count, int shift, Node root, Object[] tail, int offset, int size) {
+        this.count = count;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+        this.offset = offset;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> Vector<T> empty() {
+        return (Vector<T>) EMPTY;
+    }
+
+    @SafeVarargs
+    public static <T> Vector<T> of(T... elems) {
+        Builder<T> builder = builder();
+        for (T elem : elems) {
+            builder.add(elem);
+        }
+        return builder.build();
+    }
+
+    public static <T> Vector<T> from(Iterable<? extends T> iterable) {
+        if (iterable instanceof Vector) {
+            @SuppressWarnings("unchecked")
+            Vector<T> vector = (Vector<T>) iterable;
+            return vector;
+        }
+        return Vector.<T>builder().addAll(iterable).build();
+    }
+
+    public static <T> Builder<T> builder() {
+        return Vector.<T>empty().toBuilder();
+    }
+
+    public int length() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        checkIndex(index);
+        int i = offset + index;
+        return (T) leafFor(i)[i & MASK];
+    }
+
+    /**
+     * Returns a vector with the element at the index replaced.
+     */
+    public Vector<T> update(int index, T elem) {
+        checkIndex(index);
+        int i = offset + index;
+        if (i >= tailOffset(count)) {
+            Object[] newTail = tail.clone();
+            newTail[i & MASK] = elem;
+            return new Vector<>(count, shift, root, newTail, offset, size);
+        }
+        return new Vector<>(count, shift, assoc(null, shift, root, i, elem), tail, offset, size);
+    }
+
+    /**
+     * Returns a vector with the element added at the end.
+     */
+    public Vector<T> append(T elem) {
+        int i = offset + size;
+        if (i < count) {
+            Vector<T> updated = new Vector<>(count, shift, root, tail, offset, size + 1);
+            return updated.update(size, elem);
+        }
+        int tailSize = count - tailOffset(count);
+        if (tailSize < WIDTH) {
+            Object[] newTail = Arrays.copyOf(tail, tailSize + 1);
+            newTail[tailSize] = elem;
+            return new Vector<>(count + 1, shift, root, newTail, offset, size + 1);
+        }
+        Node tailNode = new Node(null, tail);
+        if ((count >>> BITS) > (1 << shift)) {
+            Node newRoot = new Node(null, new Object[WIDTH]);
+            newRoot.array[0] = root;
+            newRoot.array[1] = newPath(null, shift, tailNode);
+            return new Vector<>(count + 1, shift + BITS, newRoot, new Object[]{elem}, offset, size + 1);
+        }
+        return new Vector<>(count + 1, shift, pushTail(null, count, shift, root, tailNode), new Object[]{elem},
+                offset, size + 1);
+    }
+
+    /**
+     * Returns a view of the elements from (inclusive) to (exclusive), sharing this vector's trie.
+     */
+    public Vector<T> slice(int from, int to) {
+        if (from < 0 || to > size || from > to) {
+            throw new IndexOutOfBoundsException("from: " + from + ", to: " + to + ", length: " + size);
+        }
+        if (from == to) return empty();
+        if (from == 0 && to == size) return this;
+        return new Vector<>(count, shift, root, tail, offset + from, to - from);
+    }
+
+    /**
+     * Returns this vector followed by the other, appending the other's elements in place in a builder.
+     */
+    public Vector<T> concat(Vector<? extends T> other) {
+        if (other.isEmpty()) return this;
+        if (isEmpty()) return from(other);
+        return toBuilder().addAll(other).build();
+    }
+
+    /**
+     * Returns a builder starting with the elements of this vector, which stays unchanged.
+     */
+    public Builder<T> toBuilder() {
+        return new Builder<>(this);
+    }
+
+    /**
+     * Returns an indexed sequence of the elements, which can be split for parallel execution.
+     */
+    public IndexedSequence<T> toSequence() {
+        return new IndexedSequence<T>() {
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public T get(int index) {
+                return Vector.this.get(index);
+            }
+
+            @Override
+            protected boolean isStored() {
+                return true;
+            }
+
+            @Override
+            public Iterator<T> iterator() {
+                return Vector.this.iterator();
+            }
+        };
+    }
+
+    @Nonnull
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            int index = offset;
+            final int end = offset + size;
+            Object[] leaf;
+
+            @Override
+            public boolean hasNext() {
+                return index < end;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (index >= end) throw new NoSuchElementException();
+                if (leaf == null || (index & MASK) == 0) {
+                    leaf = leafFor(index);
+                }
+                return (T) leaf[index++ & MASK];
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Vector) || ((Vector<?>) o).size != size) return false;
+        Iterator<?> other = ((Vector<?>) o).iterator();
+        for (T elem : this) {
+            if (!Objects.equals(elem, other.next())) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (T elem : this) {
+            hash = 31 * hash + Objects.hashCode(elem);
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        Iterator<T> iterator = iterator();
+        StringBuilder builder = new StringBuilder("(");
+        while (iterator.hasNext()) {
+            builder.append(iterator.next());
+            if (iterator.hasNext()) {
+                builder.append(',').append(' ');
+            }
+        }
+        builder.append(')');
+        return builder.toString();
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index: " + index + ", length: " + size);
+        }
+    }
+
+    private Object[] leafFor(int i) {
+        return leafFor(count, shift, root, tail, i);
+    }
+
+    private static Object[] leafFor(int count, int shift, Node root, Object[] tail, int i) {
+        if (i >= tailOffset(count)) {
+            return tail;
+        }
+        Node node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Node) node.array[(i >>> level) & MASK];
+        }
+        return node.array;
+    }
+
+    private static int tailOffset(int count) {
+        return count < WIDTH ? 0 : ((count - 1) >>> BITS) << BITS;
+    }
+
+    /**
+     * Returns the node, if the owner may edit it in place, or a copy owned by the owner.
+     * A null owner owns nothing, so persistent operations always copy.
+     */
+    private static Node editable(Node node, Object owner) {
+        if (owner != null && node.owner == owner) return node;
+        return new Node(owner, node.array.clone());
+    }
+
+    private static Node assoc(Object owner, int level, Node node, int i, Object elem) {
+        Node result = editable(node, owner);
+        if (level == 0) {
+            result.array[i & MASK] = elem;
+        } else {
+            int sub = (i >>> level) & MASK;
+            result.array[sub] = assoc(owner, level - BITS, (Node) result.array[sub], i, elem);
+        }
+        return result;
+    }
+
+    private static Node pushTail(Object owner, int count, int level, Node parent, Node tailNode) {
+        Node result = editable(parent, owner);
+        int sub = ((count - 1) >>> level) & MASK;
+        Node insert;
+        if (level == BITS) {
+            insert = tailNode;
+        } else {
+            Node child = (Node) result.array[sub];
+            insert = child == null ? newPath(owner, level - BITS, tailNode)
+                    : pushTail(owner, count, level - BITS, child, tailNode);
+        }
+        result.array[sub] = insert;
+        return result;
+    }
+
+    private static Node newPath(Object owner, int level, Node node) {
+        if (level == 0) return node;
+        Node result = new Node(owner, new Object[WIDTH]);
+        result.array[0] = newPath(owner, level - BITS, node);
+        return result;
+    }
+
+    private static final class Node {
+        final Object owner;
+        final Object[] array;
+
+        Node(Object owner, Object[] array) {
+            this.owner = owner;
+            this.array = array;
+        }
+    }
+
+    /**
+     * Appends and updates in place, in the nodes created since the last build,
+     * and copies the nodes it shares with built vectors on the first write.
+     *
+     * @param <T> type of element
+     */
+    public static final class Builder<T> {
+        private Object owner = new Object();
+        private int count, shift;
+        private Node root;
+        private Object[] tail;
+        private final int offset;
+        private int size;
+
+        private Builder(Vector<T> vector) {
+            this.count = vector.count;
+            this.shift = vector.shift;
+            this.root = vector.root;
+            this.tail = Arrays.copyOf(vector.tail, WIDTH);
+            this.offset = vector.offset;
+            this.size = vector.size;
+        }
+
+        public int length() {
+            return size;
+        }
+
+        @SuppressWarnings("unchecked")
+        public T get(int index) {
+            checkIndex(index);
+            int i = offset + index;
+            return (T) leafFor(count, shift, root, tail, i)[i & MASK];
+        }
+
+        public Builder<T> set(int index, T elem) {
+            checkIndex(index);
+            assoc(offset + index, elem);
+            return this;
+        }
+
+        public Builder<T> add(T elem) {
+            int i = offset + size;
+            if (i < count) {
+                assoc(i, elem);
+            } else {
+                push(elem);
+            }
+            ++size;
+            return this;
+        }
+
+        public Builder<T> addAll(Iterable<? extends T> elems) {
+            for (T elem : elems) {
+                add(elem);
+            }
+            return this;
+        }
+
+        /**
+         * Returns a vector of the elements added so far; the builder can still be used afterwards.
+         */
+        public Vector<T> build() {
+            if (size == 0) return empty();
+            owner = new Object();
+            return new Vector<>(count, shift, root, Arrays.copyOf(tail, count - tailOffset(count)), offset, size);
+        }
+
+        private void assoc(int i, Object elem) {
+            if (i >= tailOffset(count)) {
+                tail[i & MASK] = elem;
+            } else {
+                root = Vector.assoc(owner, shift, root, i, elem);
+            }
+        }
+
+        private void push(Object elem) {
+            int tailSize = count - tailOffset(count);
+            if (tailSize < WIDTH) {
+                tail[tailSize] = elem;
+                ++count;
+                return;
+            }
+            Node tailNode = new Node(owner, tail);
+            tail = new Object[WIDTH];
+            tail[0] = elem;
+            if ((count >>> BITS) > (1 << shift)) {
+                Node newRoot = new Node(owner, new Object[WIDTH]);
+                newRoot.array[0] = root;
+                newRoot.array[1] = newPath(owner, shift, tailNode);
+                root = newRoot;
+                shift += BITS;
+            } else {
+                root = pushTail(owner, count, shift, root, tailNode);
+            }
+            ++count;
+        }
+
+        private void checkIndex(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("index: " + index + ", length: " + size);
+            }
+        }
+    }
+}
@@ -40,4 +40,22 @@ public class Functions {
     public static <T> Function<T, T> identity() {
         return (Function<T, T>) IDENTITY;
     }
+
+    public static <T> Predicate<T> asPredicate(final Function<? super T, Boolean> function) {
+        return new Predicate<T>() {
+            @Override
+            public boolean invoke(T t) {
+                return function.invoke(t);
+            }
+        };
+    }
+
+    public static <T1, T2> BiPredicate<T1, T2> asPredicate(final Function2<? super T1, ? super T2, Boolean> function) {
+        return new BiPredicate<T1, T2>() {
+            @Override
+            public boolean invoke(T1 t1, T2 t2) {
+                return function.invoke(t1, t2);
+            }
+        };
+    }
 }
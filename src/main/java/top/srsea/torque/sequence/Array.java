@@ -16,16 +16,32 @@
 
 package top.srsea.torque.sequence;
 
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
-public class Array<T> extends Sequence<T> {
+public class Array<T> extends IndexedSequence<T> {
     private final T[] elems;
 
     public Array(T[] elems) {
         this.elems = elems;
     }
 
+    @Override
+    protected boolean isStored() {
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return elems.length;
+    }
+
+    @Override
+    public T get(int index) {
+        return elems[index];
+    }
+
     @Override
     public Iterator<T> iterator() {
         return new Iterator<T>() {
@@ -47,4 +63,39 @@ public class Array<T> extends Sequence<T> {
             }
         };
     }
+
+    @Override
+    protected boolean consume(Sink<? super T> sink) {
+        for (T elem : elems) {
+            if (!sink.accept(elem)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected boolean consumeBlocks(BlockSink<? super T> sink) {
+        return consumeBlocks(0, elems.length, sink);
+    }
+
+    /**
+     * Pushes the elements in [from, to) as blocks of the backing array, without copying.
+     */
+    @Override
+    boolean consumeBlocks(int from, int to, BlockSink<? super T> sink) {
+        while (from < to) {
+            int end = to - from > BLOCK_SIZE ? from + BLOCK_SIZE : to;
+            if (!sink.accept(elems, from, end)) {
+                return false;
+            }
+            from = end;
+        }
+        return true;
+    }
+
+    @Override
+    public Object[] toArray() {
+        return Arrays.copyOf(elems, elems.length, Object[].class);
+    }
 }
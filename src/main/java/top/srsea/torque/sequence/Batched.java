@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.srsea.torque.sequence;
+
+import java.util.Iterator;
+
+/**
+ * A sequence whose terminal operations run the upstream stages a block at a time.
+ *
+ * @param <T> type of element
+ * @see Sequence#batched()
+ */
+public class Batched<T> extends Sequence<T> {
+    private final Sequence<T> sequence;
+
+    public Batched(Sequence<T> sequence) {
+        this.sequence = sequence;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return sequence.iterator();
+    }
+
+    @Override
+    protected boolean consume(final Sink<? super T> sink) {
+        return sequence.consumeBlocks(new BlockSink<T>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public boolean accept(Object[] elems, int from, int to) {
+                for (int i = from; i < to; ++i) {
+                    if (!sink.accept((T) elems[i])) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        });
+    }
+
+    @Override
+    protected boolean consumeBlocks(BlockSink<? super T> sink) {
+        return sequence.consumeBlocks(sink);
+    }
+
+    @Override
+    public int exactSize() {
+        return sequence.exactSize();
+    }
+
+    @Override
+    public int estimatedSize() {
+        return sequence.estimatedSize();
+    }
+}
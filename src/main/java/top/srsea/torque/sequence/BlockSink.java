@@ -0,0 +1,34 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.srsea.torque.sequence;
+
+/**
+ * Receives the blocks pushed by {@link Sequence#consumeBlocks(BlockSink)}.
+ * <p>
+ * A block is the range [from, to) of elems, holding at most {@link Sequence#BLOCK_SIZE} elements
+ * of type T. The array may be reused or backed by the source once accept returns,
+ * so it must not be kept or modified.
+ *
+ * @param <T> type of element
+ */
+public interface BlockSink<T> {
+
+    /**
+     * Accepts a block of elements, returns false to stop the traversal.
+     */
+    boolean accept(Object[] elems, int from, int to);
+}
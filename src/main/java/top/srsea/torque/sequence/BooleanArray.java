@@ -19,13 +19,28 @@ package top.srsea.torque.sequence;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
-public class BooleanArray extends Sequence<Boolean> {
+public class BooleanArray extends IndexedSequence<Boolean> {
     private final boolean[] elems;
 
     public BooleanArray(boolean[] elems) {
         this.elems = elems;
     }
 
+    @Override
+    protected boolean isStored() {
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return elems.length;
+    }
+
+    @Override
+    public Boolean get(int index) {
+        return elems[index];
+    }
+
     @Override
     public Iterator<Boolean> iterator() {
         return new Iterator<Boolean>() {
@@ -47,4 +62,14 @@ public class BooleanArray extends Sequence<Boolean> {
             }
         };
     }
+
+    @Override
+    protected boolean consume(Sink<? super Boolean> sink) {
+        for (boolean elem : elems) {
+            if (!sink.accept(elem)) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
@@ -19,13 +19,28 @@ package top.srsea.torque.sequence;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
-public class ByteArray extends Sequence<Byte> {
+public class ByteArray extends IndexedSequence<Byte> {
     private final byte[] elems;
 
     public ByteArray(byte[] elems) {
         this.elems = elems;
     }
 
+    @Override
+    protected boolean isStored() {
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return elems.length;
+    }
+
+    @Override
+    public Byte get(int index) {
+        return elems[index];
+    }
+
     @Override
     public Iterator<Byte> iterator() {
         return new Iterator<Byte>() {
@@ -47,4 +62,14 @@ public class ByteArray extends Sequence<Byte> {
             }
         };
     }
+
+    @Override
+    protected boolean consume(Sink<? super Byte> sink) {
+        for (byte elem : elems) {
+            if (!sink.accept(elem)) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package top.srsea.torque.sequence;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.NoSuchElementException;
+
+/**
+ * The remaining bytes of a heap or direct buffer, as of creation.
+ * The buffer is not modified, but changes to its content are visible.
+ */
+public class ByteBufferSequence extends ByteSequence {
+    private final ByteBuffer buffer;
+
+    public ByteBufferSequence(ByteBuffer buffer) {
+        this.buffer = buffer.duplicate();
+    }
+
+    @Override
+    public ByteIterator iterator() {
+        return new BufferIterator(buffer.duplicate());
+    }
+
+    @Override
+    public long count() {
+        return buffer.remaining();
+    }
+
+    static class BufferIterator extends ByteIterator {
+        private final ByteBuffer buffer;
+
+        BufferIterator(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return buffer.hasRemaining();
+        }
+
+        @Override
+        public byte nextByte() {
+            if (!buffer.hasRemaining()) {
+                throw new NoSuchElementException();
+            }
+            return buffer.get();
+        }
+
+        @Override
+        public int read(ByteBuffer dst) {
+            return transfer(buffer, dst);
+        }
+    }
+
+    /**
+     * Moves as many bytes from src to dst as fit.
+     *
+     * @return the number of bytes moved, or -1 if src is empty
+     */
+    static int transfer(ByteBuffer src, ByteBuffer dst) {
+        if (!src.hasRemaining()) {
+            return -1;
+        }
+        int count = Math.min(src.remaining(), dst.remaining());
+        int limit = src.limit();
+        ((Buffer) src).limit(src.position() + count);
+        dst.put(src);
+        ((Buffer) src).limit(limit);
+        return count;
+    }
+}
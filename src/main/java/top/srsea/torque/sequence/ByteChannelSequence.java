@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package top.srsea.torque.sequence;
+
+import top.srsea.torque.common.ObjectHelper;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The bytes read from a blocking channel, through a buffer.
+ * <p>
+ * The channel can be read only once, so only one iterator can be created; the channel is not closed.
+ * Bulk reads drain the buffer first, then read from the channel straight into the destination.
+ */
+public class ByteChannelSequence extends ByteSequence {
+    private final ReadableByteChannel channel;
+    private final int bufferSize;
+    private final AtomicBoolean consumed = new AtomicBoolean();
+
+    public ByteChannelSequence(ReadableByteChannel channel, int bufferSize) {
+        ObjectHelper.verifyPositive(bufferSize, "buffer size");
+        this.channel = channel;
+        this.bufferSize = bufferSize;
+    }
+
+    @Override
+    public ByteIterator iterator() {
+        if (consumed.getAndSet(true)) {
+            throw new IllegalStateException("channel already consumed");
+        }
+        return new ByteIterator() {
+            final ByteBuffer buffer = ByteBuffer.wrap(new byte[bufferSize], 0, 0);
+            boolean eof;
+
+            @Override
+            public boolean hasNext() {
+                if (buffer.hasRemaining()) {
+                    return true;
+                }
+                if (eof) {
+                    return false;
+                }
+                ((Buffer) buffer).clear();
+                int read = fill(buffer);
+                ((Buffer) buffer).flip();
+                return read > 0;
+            }
+
+            @Override
+            public byte nextByte() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return buffer.get();
+            }
+
+            @Override
+            public int read(ByteBuffer dst) {
+                if (buffer.hasRemaining()) {
+                    return ByteBufferSequence.transfer(buffer, dst);
+                }
+                if (eof) {
+                    return -1;
+                }
+                return dst.hasRemaining() ? fill(dst) : 0;
+            }
+
+            private int fill(ByteBuffer dst) {
+                try {
+                    int read;
+                    do {
+                        read = channel.read(dst);
+                    } while (read == 0);
+                    eof = read < 0;
+                    return read;
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        };
+    }
+}
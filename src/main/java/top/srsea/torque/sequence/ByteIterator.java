@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package top.srsea.torque.sequence;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+
+public abstract class ByteIterator implements Iterator<Byte> {
+
+    public abstract byte nextByte();
+
+    /**
+     * Transfers the next bytes into dst, as many as fit, in bulk where the source allows.
+     *
+     * @return the number of bytes transferred, or -1 if there are no more bytes
+     */
+    public int read(ByteBuffer dst) {
+        if (!hasNext()) {
+            return -1;
+        }
+        int count = 0;
+        while (dst.hasRemaining() && hasNext()) {
+            dst.put(nextByte());
+            ++count;
+        }
+        return count;
+    }
+
+    @Override
+    public Byte next() {
+        return nextByte();
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+}
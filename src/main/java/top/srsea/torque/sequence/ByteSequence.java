@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package top.srsea.torque.sequence;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * A sequence of bytes, iterated without boxing.
+ * <p>
+ * The iterators also transfer bytes in bulk with {@link ByteIterator#read(ByteBuffer)},
+ * which copies whole ranges from buffer and file sources, and reads channels straight into the destination.
+ */
+public abstract class ByteSequence implements Iterable<Byte> {
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    public static ByteSequence of(byte... elems) {
+        return from(ByteBuffer.wrap(elems));
+    }
+
+    public static ByteSequence from(byte[] array) {
+        return of(array);
+    }
+
+    /**
+     * Returns the remaining bytes of the buffer, which is not modified.
+     */
+    public static ByteSequence from(ByteBuffer buffer) {
+        return new ByteBufferSequence(buffer);
+    }
+
+    /**
+     * Returns the bytes read from the channel, which can be iterated only once.
+     */
+    public static ByteSequence from(ReadableByteChannel channel) {
+        return new ByteChannelSequence(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Returns the bytes read from the stream, which can be iterated only once.
+     */
+    public static ByteSequence from(InputStream in) {
+        return from(Channels.newChannel(in));
+    }
+
+    /**
+     * Returns the bytes of the file, read through memory mapped windows.
+     */
+    public static ByteSequence mapped(Path path) {
+        return new MappedBytes(path);
+    }
+
+    @Override
+    public abstract ByteIterator iterator();
+
+    public long count() {
+        long count = 0;
+        for (ByteIterator iterator = iterator(); iterator.hasNext(); iterator.nextByte()) {
+            ++count;
+        }
+        return count;
+    }
+
+    public boolean contains(byte elem) {
+        ByteIterator iterator = iterator();
+        while (iterator.hasNext()) {
+            if (iterator.nextByte() == elem) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the bytes as ints, sign extended, or zero extended when unsigned.
+     */
+    public IntSequence asInts(final boolean unsigned) {
+        return new IntSequence() {
+            @Override
+            public IntIterator iterator() {
+                final ByteIterator iterator = ByteSequence.this.iterator();
+                return new IntIterator() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public int nextInt() {
+                        byte next = iterator.nextByte();
+                        return unsigned ? next & 0xff : next;
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * Returns the bytes boxed, from the cache of {@link Byte#valueOf(byte)}, so nothing is allocated per byte.
+     */
+    public Sequence<Byte> boxed() {
+        return new Sequence<Byte>() {
+            @Override
+            public Iterator<Byte> iterator() {
+                return ByteSequence.this.iterator();
+            }
+        };
+    }
+
+    public byte[] toArray() {
+        byte[] elems = new byte[16];
+        int size = 0;
+        ByteIterator iterator = iterator();
+        while (true) {
+            if (size == elems.length) {
+                elems = Arrays.copyOf(elems, size << 1);
+            }
+            ByteBuffer rest = ByteBuffer.wrap(elems, size, elems.length - size);
+            int read = iterator.read(rest);
+            if (read < 0) {
+                break;
+            }
+            size += read;
+        }
+        return size == elems.length ? elems : Arrays.copyOf(elems, size);
+    }
+
+    @Override
+    public String toString() {
+        ByteIterator iterator = iterator();
+        if (!iterator.hasNext()) return "()";
+        StringBuilder builder = new StringBuilder("(");
+        while (iterator.hasNext()) {
+            builder.append(iterator.nextByte());
+            if (iterator.hasNext()) {
+                builder.append(',').append(' ');
+            }
+        }
+        builder.append(')');
+        return builder.toString();
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.srsea.torque.sequence;
+
+import top.srsea.torque.common.Preconditions;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A sequence that evaluates the upstream once, lazily, and replays the produced elements
+ * from a segmented buffer to every later iterator. Iterators may run concurrently.
+ * <p>
+ * At most maxSize elements are kept; an iterator that reads past them runs the upstream again
+ * on its own.
+ *
+ * @param <T> type of element
+ */
+public class Cached<T> extends Sequence<T> {
+    private static final int SEGMENT_SHIFT = 8;
+    private static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+    private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+    private final Sequence<T> sequence;
+    private final int maxSize;
+    private Iterator<T> upstream;
+    private volatile Object[][] segments = new Object[0][];
+    private volatile int size;
+    private volatile boolean exhausted;
+
+    public Cached(Sequence<T> sequence) {
+        this(sequence, Integer.MAX_VALUE);
+    }
+
+    public Cached(Sequence<T> sequence, int maxSize) {
+        Preconditions.require(maxSize >= 0, "maxSize < 0");
+        this.sequence = sequence;
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            int cursor = 0;
+            Iterator<T> overflow;
+
+            @Override
+            public boolean hasNext() {
+                if (overflow != null) {
+                    return overflow.hasNext();
+                }
+                if (fill(cursor)) {
+                    return true;
+                }
+                if (exhausted) {
+                    return false;
+                }
+                overflow = sequence.drop(cursor).iterator();
+                return overflow.hasNext();
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                if (overflow != null) {
+                    return overflow.next();
+                }
+                return get(cursor++);
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    @Override
+    public int exactSize() {
+        return exhausted ? size : sequence.exactSize();
+    }
+
+    @Override
+    public int estimatedSize() {
+        return exhausted ? size : sequence.estimatedSize();
+    }
+
+    /**
+     * Pulls from the upstream until the element at index is buffered.
+     * Returns false if the upstream ends before it, or it is beyond maxSize.
+     */
+    private boolean fill(int index) {
+        if (index < size) {
+            return true;
+        }
+        synchronized (this) {
+            while (size <= index && size < maxSize && !exhausted) {
+                if (upstream == null) {
+                    upstream = sequence.iterator();
+                }
+                if (!upstream.hasNext()) {
+                    upstream = null;
+                    exhausted = true;
+                    break;
+                }
+                append(upstream.next());
+            }
+            return index < size;
+        }
+    }
+
+    private void append(T elem) {
+        int index = size;
+        Object[][] segments = this.segments;
+        if (index >>> SEGMENT_SHIFT == segments.length) {
+            segments = Arrays.copyOf(segments, segments.length + 1);
+            segments[segments.length - 1] = new Object[SEGMENT_SIZE];
+            this.segments = segments;
+        }
+        segments[index >>> SEGMENT_SHIFT][index & SEGMENT_MASK] = elem;
+        size = index + 1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T get(int index) {
+        return (T) segments[index >>> SEGMENT_SHIFT][index & SEGMENT_MASK];
+    }
+}
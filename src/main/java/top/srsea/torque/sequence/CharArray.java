@@ -19,13 +19,28 @@ package top.srsea.torque.sequence;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
-public class CharArray extends Sequence<Character> {
+public class CharArray extends IndexedSequence<Character> {
     private final char[] elems;
 
     public CharArray(char[] elems) {
         this.elems = elems;
     }
 
+    @Override
+    protected boolean isStored() {
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return elems.length;
+    }
+
+    @Override
+    public Character get(int index) {
+        return elems[index];
+    }
+
     @Override
     public Iterator<Character> iterator() {
         return new Iterator<Character>() {
@@ -47,4 +62,14 @@ public class CharArray extends Sequence<Character> {
             }
         };
     }
+
+    @Override
+    protected boolean consume(Sink<? super Character> sink) {
+        for (char elem : elems) {
+            if (!sink.accept(elem)) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
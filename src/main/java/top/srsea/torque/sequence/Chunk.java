@@ -25,17 +25,27 @@ import java.util.List;
 public class Chunk<T> extends Sequence<List<T>> {
     private final Sequence<T> sequence;
     private final int size;
+    private final boolean reuse;
 
     public Chunk(Sequence<T> sequence, int size) {
+        this(sequence, size, false);
+    }
+
+    /**
+     * @param reuse whether to refill one list for every chunk, instead of creating a new one
+     */
+    public Chunk(Sequence<T> sequence, int size, boolean reuse) {
         ObjectHelper.verifyPositive(size, "size");
         this.sequence = sequence;
         this.size = size;
+        this.reuse = reuse;
     }
 
     @Override
     public Iterator<List<T>> iterator() {
         return new Iterator<List<T>>() {
             final Iterator<T> iterator = sequence.iterator();
+            final List<T> buffer = reuse ? new ArrayList<T>(size) : null;
 
             @Override
             public boolean hasNext() {
@@ -44,7 +54,12 @@ public class Chunk<T> extends Sequence<List<T>> {
 
             @Override
             public List<T> next() {
-                List<T> block = new ArrayList<>(size);
+                List<T> block = buffer;
+                if (block == null) {
+                    block = new ArrayList<>(size);
+                } else {
+                    block.clear();
+                }
                 for (int i = size; i > 0 && iterator.hasNext(); --i) {
                     block.add(iterator.next());
                 }
@@ -57,4 +72,18 @@ public class Chunk<T> extends Sequence<List<T>> {
             }
         };
     }
+
+    @Override
+    public int exactSize() {
+        return chunks(sequence.exactSize());
+    }
+
+    @Override
+    public int estimatedSize() {
+        return chunks(sequence.estimatedSize());
+    }
+
+    private int chunks(int count) {
+        return count < 0 ? -1 : (int) (((long) count + size - 1) / size);
+    }
 }
@@ -0,0 +1,41 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.srsea.torque.sequence;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Converts elements to and from bytes, for sequences that spill to disk.
+ *
+ * @param <T> type of element
+ * @see Sequence#sortedExternal(java.util.Comparator, Codec, java.nio.file.Path, long)
+ */
+public interface Codec<T> {
+
+    void write(DataOutput out, T elem) throws IOException;
+
+    T read(DataInput in) throws IOException;
+
+    /**
+     * Returns the approximate number of bytes the element occupies on the heap, counted against
+     * the memory budget. This is an estimate of the object and what it references, not the length
+     * of its encoding.
+     */
+    long sizeOf(T elem);
+}
@@ -56,4 +56,27 @@ public class Concat<T, U extends T, V extends T> extends Sequence<T> {
             }
         };
     }
+
+    @Override
+    protected boolean consume(Sink<? super T> sink) {
+        return sequence.consume(sink) && consume(other, sink);
+    }
+
+    @Override
+    public int exactSize() {
+        return sum(sequence.exactSize(), exactSize(other));
+    }
+
+    @Override
+    public int estimatedSize() {
+        return sum(sequence.estimatedSize(), estimatedSize(other));
+    }
+
+    private static int sum(int size, int otherSize) {
+        if (size < 0 || otherSize < 0) {
+            return -1;
+        }
+        int sum = size + otherSize;
+        return sum < 0 ? -1 : sum;
+    }
 }
@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.srsea.torque.sequence;
+
+import top.srsea.torque.function.Function;
+import top.srsea.torque.function.Predicate;
+
+import java.util.Iterator;
+
+/**
+ * The elements whose keys have not been seen before, in order.
+ * Each traversal tracks the keys in a new {@link OpenHashSet}.
+ *
+ * @param <T> type of element
+ * @param <K> type of key
+ */
+public class Distinct<T, K> extends Sequence<T> {
+    private final Sequence<T> sequence;
+    private final Function<? super T, ? extends K> key;
+
+    public Distinct(Sequence<T> sequence, Function<? super T, ? extends K> key) {
+        this.sequence = sequence;
+        this.key = key;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return unseen().iterator();
+    }
+
+    @Override
+    protected boolean consume(Sink<? super T> sink) {
+        return unseen().consume(sink);
+    }
+
+    @Override
+    public int estimatedSize() {
+        return sequence.estimatedSize();
+    }
+
+    private Filter<T> unseen() {
+        final OpenHashSet<K> seen = new OpenHashSet<>(Hashing.presize(sequence.estimatedSize()));
+        return new Filter<>(sequence, new Predicate<T>() {
+            @Override
+            public boolean invoke(T elem) {
+                return seen.add(key.invoke(elem));
+            }
+        });
+    }
+}
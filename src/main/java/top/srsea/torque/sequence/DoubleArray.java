@@ -19,13 +19,28 @@ package top.srsea.torque.sequence;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
-public class DoubleArray extends Sequence<Double> {
+public class DoubleArray extends IndexedSequence<Double> {
     private final double[] elems;
 
     public DoubleArray(double[] elems) {
         this.elems = elems;
     }
 
+    @Override
+    protected boolean isStored() {
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return elems.length;
+    }
+
+    @Override
+    public Double get(int index) {
+        return elems[index];
+    }
+
     @Override
     public Iterator<Double> iterator() {
         return new Iterator<Double>() {
@@ -47,4 +62,38 @@ public class DoubleArray extends Sequence<Double> {
             }
         };
     }
+
+    @Override
+    protected boolean consume(Sink<? super Double> sink) {
+        for (double elem : elems) {
+            if (!sink.accept(elem)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected boolean consumeBlocks(BlockSink<? super Double> sink) {
+        return consumeBlocks(0, elems.length, sink);
+    }
+
+    /**
+     * Pushes the elements in [from, to) boxed into one reused block, read straight from the backing array.
+     */
+    @Override
+    boolean consumeBlocks(int from, int to, BlockSink<? super Double> sink) {
+        Object[] block = new Object[Math.max(Math.min(to - from, BLOCK_SIZE), 0)];
+        while (from < to) {
+            int size = Math.min(to - from, BLOCK_SIZE);
+            for (int i = 0; i < size; ++i) {
+                block[i] = elems[from + i];
+            }
+            if (!sink.accept(block, 0, size)) {
+                return false;
+            }
+            from += size;
+        }
+        return true;
+    }
 }
@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.srsea.torque.sequence;
+
+import top.srsea.torque.common.ObjectHelper;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+public class DoubleChunk extends Sequence<DoubleSequence> {
+    private final DoubleSequence sequence;
+    private final int size;
+
+    public DoubleChunk(DoubleSequence sequence, int size) {
+        ObjectHelper.verifyPositive(size, "size");
+        this.sequence = sequence;
+        this.size = size;
+    }
+
+    @Override
+    public Iterator<DoubleSequence> iterator() {
+        return new Iterator<DoubleSequence>() {
+            final DoubleIterator iterator = sequence.iterator();
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public DoubleSequence next() {
+                double[] block = new double[Math.min(size, 16)];
+                int count = 0;
+                while (count < size && iterator.hasNext()) {
+                    if (count == block.length) {
+                        block = Arrays.copyOf(block, (int) Math.min((long) count << 1, size));
+                    }
+                    block[count++] = iterator.nextDouble();
+                }
+                return new DoubleArraySequence(block, 0, count);
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.srsea.torque.sequence;
+
+import top.srsea.torque.function.DoubleFunction;
+
+import java.util.Iterator;
+
+public class DoubleMapToObj<U> extends Sequence<U> {
+    private final DoubleSequence sequence;
+    private final DoubleFunction<? extends U> transform;
+
+    public DoubleMapToObj(DoubleSequence sequence, DoubleFunction<? extends U> transform) {
+        this.sequence = sequence;
+        this.transform = transform;
+    }
+
+    @Override
+    public Iterator<U> iterator() {
+        return new Iterator<U>() {
+            final DoubleIterator iterator = sequence.iterator();
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public U next() {
+                return transform.invoke(iterator.nextDouble());
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.srsea.torque.sequence;
+
+import top.srsea.torque.common.Option;
+import top.srsea.torque.function.DoubleBinaryOperator;
+import top.srsea.torque.function.DoubleConsumer;
+import top.srsea.torque.function.DoubleFunction;
+import top.srsea.torque.function.DoublePredicate;
+import top.srsea.torque.function.DoubleUnaryOperator;
+
+import java.util.Arrays;
+
+public abstract class DoubleSequence implements Iterable<Double> {
+    private static final DoubleFunction<Double> BOX = new DoubleFunction<Double>() {
+        @Override
+        public Double invoke(double value) {
+            return value;
+        }
+    };
+
+    public static DoubleSequence of(double... elems) {
+        return new DoubleArraySequence(elems);
+    }
+
+    public static DoubleSequence from(double[] array) {
+        return of(array);
+    }
+
+    @Override
+    public abstract DoubleIterator iterator();
+
+    public int count() {
+        int count = 0;
+        for (DoubleIterator iterator = iterator(); iterator.hasNext(); iterator.nextDouble()) {
+            ++count;
+        }
+        return count;
+    }
+
+    public int count(DoublePredicate pred) {
+        int count = 0;
+        DoubleIterator iterator = iterator();
+        while (iterator.hasNext()) {
+            if (pred.invoke(iterator.nextDouble())) {
+                ++count;
+            }
+        }
+        return count;
+    }
+
+    public double fold(double init, DoubleBinaryOperator op) {
+        DoubleIterator iterator = iterator();
+        while (iterator.hasNext()) {
+            init = op.invoke(init, iterator.nextDouble());
+        }
+        return init;
+    }
+
+    public double sum() {
+        double sum = 0;
+        DoubleIterator iterator = iterator();
+        while (iterator.hasNext()) {
+            sum += iterator.nextDouble();
+        }
+        return sum;
+    }
+
+    public Option<Double> min() {
+        DoubleIterator iterator = iterator();
+        if (!iterator.hasNext()) {
+            return Option.none();
+        }
+        double min = iterator.nextDouble();
+        while (iterator.hasNext()) {
+            min = Math.min(min, iterator.nextDouble());
+        }
+        return Option.some(min);
+    }
+
+    public Option<Double> max() {
+        DoubleIterator iterator = iterator();
+        if (!iterator.hasNext()) {
+            return Option.none();
+        }
+        double max = iterator.nextDouble();
+        while (iterator.hasNext()) {
+            max = Math.max(max, iterator.nextDouble());
+        }
+        return Option.some(max);
+    }
+
+    public Option<Double> first() {
+        DoubleIterator iterator = iterator();
+        return iterator.hasNext() ? Option.some(iterator.nextDouble()) : Option.<Double>none();
+    }
+
+    public Option<Double> last() {
+        DoubleIterator iterator = iterator();
+        if (!iterator.hasNext()) {
+            return Option.none();
+        }
+        double last = iterator.nextDouble();
+        while (iterator.hasNext()) {
+            last = iterator.nextDouble();
+        }
+        return Option.some(last);
+    }
+
+    public Option<Double> nth(int index) {
+        if (index < 0) return Option.none();
+        DoubleIterator iterator = iterator();
+        for (int i = index; i > 0; --i, iterator.nextDouble()) {
+            if (!iterator.hasNext()) {
+                return Option.none();
+            }
+        }
+        return iterator.hasNext() ? Option.some(iterator.nextDouble()) : Option.<Double>none();
+    }
+
+    public boolean contains(double elem) {
+        DoubleIterator iterator = iterator();
+        while (iterator.hasNext()) {
+            if (iterator.nextDouble() == elem) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public DoubleSequence take(int n) {
+        return new DoubleTake(this, n);
+    }
+
+    public DoubleSequence drop(int n) {
+        if (n == 0) {
+            return this;
+        }
+        return new DoubleDrop(this, n);
+    }
+
+    /**
+     * Returns the elements in sequences of n, the last one may be shorter.
+     */
+    public Sequence<DoubleSequence> chunk(int n) {
+        return new DoubleChunk(this, n);
+    }
+
+    public DoubleSequence map(DoubleUnaryOperator transform) {
+        return new DoubleMap(this, transform);
+    }
+
+    public DoubleSequence filter(DoublePredicate pred) {
+        return new DoubleFilter(this, pred);
+    }
+
+    public <U> Sequence<U> mapToObj(DoubleFunction<? extends U> transform) {
+        return new DoubleMapToObj<>(this, transform);
+    }
+
+    public Sequence<Double> boxed() {
+        return mapToObj(BOX);
+    }
+
+    public void foreach(DoubleConsumer action) {
+        DoubleIterator iterator = iterator();
+        while (iterator.hasNext()) {
+            action.accept(iterator.nextDouble());
+        }
+    }
+
+    public double[] toArray() {
+        double[] elems = new double[16];
+        int size = 0;
+        DoubleIterator iterator = iterator();
+        while (iterator.hasNext()) {
+            if (size == elems.length) {
+                elems = Arrays.copyOf(elems, size << 1);
+            }
+            elems[size++] = iterator.nextDouble();
+        }
+        return size == elems.length ? elems : Arrays.copyOf(elems, size);
+    }
+
+    @Override
+    public String toString() {
+        DoubleIterator iterator = iterator();
+        if (!iterator.hasNext()) return "()";
+        StringBuilder builder = new StringBuilder("(");
+        while (iterator.hasNext()) {
+            builder.append(iterator.nextDouble());
+            if (iterator.hasNext()) {
+                builder.append(',').append(' ');
+            }
+        }
+        builder.append(')');
+        return builder.toString();
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.srsea.torque.sequence;
+
+import top.srsea.torque.common.Preconditions;
+
+import java.util.NoSuchElementException;
+
+public class DoubleTake extends DoubleSequence {
+    private final DoubleSequence sequence;
+    private final int count;
+
+    public DoubleTake(DoubleSequence sequence, int count) {
+        Preconditions.require(count >= 0, "count < 0");
+        this.sequence = sequence;
+        this.count = count;
+    }
+
+    @Override
+    public DoubleIterator iterator() {
+        return new DoubleIterator() {
+            final DoubleIterator iterator = sequence.iterator();
+            int left = count;
+
+            @Override
+            public boolean hasNext() {
+                return left > 0 && iterator.hasNext();
+            }
+
+            @Override
+            public double nextDouble() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                --left;
+                return iterator.nextDouble();
+            }
+        };
+    }
+}
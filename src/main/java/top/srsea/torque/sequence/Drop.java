@@ -61,4 +61,50 @@ public class Drop<T> extends Sequence<T> {
             }
         };
     }
+
+    @Override
+    protected boolean consume(final Sink<? super T> sink) {
+        return sequence.consume(new Sink<T>() {
+            int left = count;
+
+            @Override
+            public boolean accept(T elem) {
+                if (left > 0) {
+                    --left;
+                    return true;
+                }
+                return sink.accept(elem);
+            }
+        });
+    }
+
+    @Override
+    protected boolean consumeBlocks(final BlockSink<? super T> sink) {
+        return sequence.consumeBlocks(new BlockSink<T>() {
+            int left = count;
+
+            @Override
+            public boolean accept(Object[] elems, int from, int to) {
+                if (left >= to - from) {
+                    left -= to - from;
+                    return true;
+                }
+                from += left;
+                left = 0;
+                return sink.accept(elems, from, to);
+            }
+        });
+    }
+
+    @Override
+    public int exactSize() {
+        int size = sequence.exactSize();
+        return size < 0 ? -1 : Math.max(size - count, 0);
+    }
+
+    @Override
+    public int estimatedSize() {
+        int size = sequence.estimatedSize();
+        return size < 0 ? -1 : Math.max(size - count, 0);
+    }
 }
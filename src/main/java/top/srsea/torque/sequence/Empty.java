@@ -26,4 +26,14 @@ public class Empty<T> extends Sequence<T> {
     public Iterator<T> iterator() {
         return Collections.emptyIterator();
     }
+
+    @Override
+    protected boolean consume(Sink<? super T> sink) {
+        return true;
+    }
+
+    @Override
+    public int exactSize() {
+        return 0;
+    }
 }
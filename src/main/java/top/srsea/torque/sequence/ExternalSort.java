@@ -0,0 +1,307 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.srsea.torque.sequence;
+
+import top.srsea.torque.common.IOHelper;
+import top.srsea.torque.common.Preconditions;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * The elements sorted by a comparator, holding at most about memoryBudget bytes of them in memory.
+ * <p>
+ * Each traversal reads the upstream into runs whose elements add up to the budget, as measured
+ * by {@link Codec#sizeOf(Object)}, sorts each run and spills it to a temporary file. While there
+ * are more than {@value #MAX_FAN_IN} runs, consecutive groups of that many are merged into one
+ * new run each, so at most {@value #MAX_FAN_IN} files are open at a time and the budget is split
+ * into read buffers of at least {@value #MIN_BUFFER_SIZE} bytes among them. The remaining runs are
+ * merged lazily as the sort is iterated. Run files are deleted
+ * once merged, when a terminal operation stops early, or when reading or sorting fails. An
+ * {@link #iterator()} abandoned before it is drained leaves its files open in tmpDir. If
+ * everything fits in one run, nothing is written. The sort is stable.
+ *
+ * @param <T> type of element
+ */
+public class ExternalSort<T> extends Sequence<T> {
+    private static final int MIN_BUFFER_SIZE = 8192;
+    private static final int MAX_BUFFER_SIZE = 1 << 20;
+    private static final int MAX_FAN_IN = 64;
+
+    private final Sequence<T> sequence;
+    private final Comparator<? super T> comparator;
+    private final Codec<T> codec;
+    private final Path tmpDir;
+    private final long memoryBudget;
+
+    public ExternalSort(Sequence<T> sequence, Comparator<? super T> comparator, Codec<T> codec, Path tmpDir, long memoryBudget) {
+        Preconditions.require(memoryBudget > 0, "memoryBudget <= 0");
+        this.sequence = sequence;
+        this.comparator = comparator;
+        this.codec = codec;
+        this.tmpDir = tmpDir;
+        this.memoryBudget = memoryBudget;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        List<T> run = new ArrayList<>();
+        List<Run<T>> runs = spillRuns(run);
+        if (runs.isEmpty()) {
+            return run.iterator();
+        }
+        try {
+            runs = reduce(runs);
+            return merge(runs);
+        } catch (IOException e) {
+            close(runs);
+            throw new RuntimeException(e);
+        } catch (RuntimeException | Error e) {
+            close(runs);
+            throw e;
+        }
+    }
+
+    @Override
+    protected boolean consume(Sink<? super T> sink) {
+        List<T> run = new ArrayList<>();
+        List<Run<T>> runs = spillRuns(run);
+        if (runs.isEmpty()) {
+            for (T elem : run) {
+                if (!sink.accept(elem)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        try {
+            runs = reduce(runs);
+            Iterator<T> merged = merge(runs);
+            while (merged.hasNext()) {
+                if (!sink.accept(merged.next())) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        } finally {
+            close(runs);
+        }
+    }
+
+    @Override
+    public int exactSize() {
+        return sequence.exactSize();
+    }
+
+    @Override
+    public int estimatedSize() {
+        return sequence.estimatedSize();
+    }
+
+    /**
+     * Reads the upstream into runs of about memoryBudget bytes and spills each one sorted.
+     * Returns no runs if everything fits in one, leaving it sorted in run. Deletes the runs
+     * already written if reading, sorting or writing fails.
+     */
+    private List<Run<T>> spillRuns(List<T> run) {
+        List<Run<T>> runs = new ArrayList<>();
+        try {
+            long used = 0;
+            for (T elem : sequence) {
+                run.add(elem);
+                used += codec.sizeOf(elem);
+                if (used >= memoryBudget) {
+                    runs.add(spill(run));
+                    run.clear();
+                    used = 0;
+                }
+            }
+            if (runs.isEmpty()) {
+                Collections.sort(run, comparator);
+                return runs;
+            }
+            if (!run.isEmpty()) {
+                runs.add(spill(run));
+                run.clear();
+            }
+            return runs;
+        } catch (IOException e) {
+            close(runs);
+            throw new RuntimeException(e);
+        } catch (RuntimeException | Error e) {
+            close(runs);
+            throw e;
+        }
+    }
+
+    private Run<T> spill(List<T> run) throws IOException {
+        Collections.sort(run, comparator);
+        return write(run.iterator());
+    }
+
+    private Run<T> write(Iterator<T> elems) throws IOException {
+        Path path = Files.createTempFile(tmpDir, "torque-sort-", ".run");
+        long size = 0;
+        try (DataOutputStream out = IOHelper.openDataOutput(path, MAX_BUFFER_SIZE)) {
+            while (elems.hasNext()) {
+                codec.write(out, elems.next());
+                ++size;
+            }
+        } catch (IOException | RuntimeException e) {
+            IOHelper.delete(path);
+            throw e;
+        }
+        return new Run<>(path, size);
+    }
+
+    /**
+     * Merges consecutive groups of at most {@value #MAX_FAN_IN} runs into new runs, pass after pass,
+     * until at most that many are left. Merging neighbours keeps the sort stable. Closes every run,
+     * merged or not, if a pass fails.
+     */
+    private List<Run<T>> reduce(List<Run<T>> runs) throws IOException {
+        while (runs.size() > MAX_FAN_IN) {
+            List<Run<T>> merged = new ArrayList<>((runs.size() + MAX_FAN_IN - 1) / MAX_FAN_IN);
+            try {
+                for (int from = 0; from < runs.size(); from += MAX_FAN_IN) {
+                    List<Run<T>> group = runs.subList(from, Math.min(from + MAX_FAN_IN, runs.size()));
+                    merged.add(group.size() == 1 ? group.get(0) : write(merge(group)));
+                }
+            } catch (IOException | RuntimeException | Error e) {
+                close(runs);
+                close(merged);
+                throw e;
+            }
+            runs = merged;
+        }
+        return runs;
+    }
+
+    private Iterator<T> merge(final List<Run<T>> runs) throws IOException {
+        int bufferSize = (int) Math.max(MIN_BUFFER_SIZE, Math.min(memoryBudget / runs.size(), MAX_BUFFER_SIZE));
+        final PriorityQueue<Run<T>> heap = new PriorityQueue<>(runs.size(), new Comparator<Run<T>>() {
+            @Override
+            public int compare(Run<T> x, Run<T> y) {
+                int result = comparator.compare(x.head, y.head);
+                return result != 0 ? result : Integer.compare(x.index, y.index);
+            }
+        });
+        for (int i = 0; i < runs.size(); ++i) {
+            Run<T> run = runs.get(i);
+            run.open(i, bufferSize);
+            if (run.advance(codec)) {
+                heap.offer(run);
+            }
+        }
+        return new Iterator<T>() {
+            @Override
+            public boolean hasNext() {
+                return !heap.isEmpty();
+            }
+
+            @Override
+            public T next() {
+                Run<T> run = heap.poll();
+                if (run == null) {
+                    throw new NoSuchElementException();
+                }
+                T result = run.head;
+                try {
+                    if (run.advance(codec)) {
+                        heap.offer(run);
+                    }
+                } catch (IOException e) {
+                    abort(run);
+                    throw new RuntimeException(e);
+                } catch (RuntimeException | Error e) {
+                    abort(run);
+                    throw e;
+                }
+                return result;
+            }
+
+            private void abort(Run<T> run) {
+                run.close();
+                close(heap);
+                heap.clear();
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    private static <T> void close(Iterable<Run<T>> runs) {
+        for (Run<T> run : runs) {
+            run.close();
+        }
+    }
+
+    /**
+     * A sorted run spilled to a file.
+     */
+    private static final class Run<T> {
+        final Path path;
+        long left;
+        int index;
+        DataInputStream in;
+        T head;
+
+        Run(Path path, long size) {
+            this.path = path;
+            this.left = size;
+        }
+
+        void open(int index, int bufferSize) throws IOException {
+            this.index = index;
+            this.in = IOHelper.openDataInput(path, bufferSize);
+        }
+
+        /**
+         * Reads the next element into head, or closes the run and returns false if none left.
+         */
+        boolean advance(Codec<T> codec) throws IOException {
+            if (left == 0) {
+                close();
+                return false;
+            }
+            head = codec.read(in);
+            --left;
+            return true;
+        }
+
+        void close() {
+            IOHelper.close(in);
+            IOHelper.delete(path);
+            head = null;
+        }
+    }
+}
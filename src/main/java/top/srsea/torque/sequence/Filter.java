@@ -17,15 +17,25 @@
 package top.srsea.torque.sequence;
 
 import top.srsea.torque.function.Function;
+import top.srsea.torque.function.Functions;
+import top.srsea.torque.function.Predicate;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
 public class Filter<T> extends Sequence<T> {
     private final Sequence<T> sequence;
-    private final Function<? super T, Boolean> predicate;
+    private final Predicate<? super T> predicate;
 
+    /**
+     * @deprecated use {@link Sequence#where(Predicate)}, which tests without boxing
+     */
+    @Deprecated
     public Filter(Sequence<T> sequence, Function<? super T, Boolean> predicate) {
+        this(sequence, Functions.asPredicate(predicate));
+    }
+
+    Filter(Sequence<T> sequence, Predicate<? super T> predicate) {
         this.sequence = sequence;
         this.predicate = predicate;
     }
@@ -77,4 +87,37 @@ public class Filter<T> extends Sequence<T> {
             }
         };
     }
+
+    @Override
+    protected boolean consume(final Sink<? super T> sink) {
+        return sequence.consume(new Sink<T>() {
+            @Override
+            public boolean accept(T elem) {
+                return !predicate.invoke(elem) || sink.accept(elem);
+            }
+        });
+    }
+
+    @Override
+    protected boolean consumeBlocks(final BlockSink<? super T> sink) {
+        final Object[] block = new Object[BLOCK_SIZE];
+        return sequence.consumeBlocks(new BlockSink<T>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public boolean accept(Object[] elems, int from, int to) {
+                int size = 0;
+                for (int i = from; i < to; ++i) {
+                    if (predicate.invoke((T) elems[i])) {
+                        block[size++] = elems[i];
+                    }
+                }
+                return size == 0 || sink.accept(block, 0, size);
+            }
+        });
+    }
+
+    @Override
+    public int estimatedSize() {
+        return sequence.estimatedSize();
+    }
 }
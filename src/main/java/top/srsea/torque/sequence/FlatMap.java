@@ -62,4 +62,14 @@ public class FlatMap<T, U> extends Sequence<U> {
             }
         };
     }
+
+    @Override
+    protected boolean consume(final Sink<? super U> sink) {
+        return sequence.consume(new Sink<T>() {
+            @Override
+            public boolean accept(T elem) {
+                return consume(transform.invoke(elem), sink);
+            }
+        });
+    }
 }
@@ -58,4 +58,14 @@ public class Flatten<T> extends Sequence<T> {
             }
         };
     }
+
+    @Override
+    protected boolean consume(final Sink<? super T> sink) {
+        return consume(iterable, new Sink<Iterable<? extends T>>() {
+            @Override
+            public boolean accept(Iterable<? extends T> elem) {
+                return consume(elem, sink);
+            }
+        });
+    }
 }
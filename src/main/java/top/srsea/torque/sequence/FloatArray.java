@@ -19,13 +19,28 @@ package top.srsea.torque.sequence;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
-public class FloatArray extends Sequence<Float> {
+public class FloatArray extends IndexedSequence<Float> {
     private final float[] elems;
 
     public FloatArray(float[] elems) {
         this.elems = elems;
     }
 
+    @Override
+    protected boolean isStored() {
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return elems.length;
+    }
+
+    @Override
+    public Float get(int index) {
+        return elems[index];
+    }
+
     @Override
     public Iterator<Float> iterator() {
         return new Iterator<Float>() {
@@ -47,4 +62,14 @@ public class FloatArray extends Sequence<Float> {
             }
         };
     }
+
+    @Override
+    protected boolean consume(Sink<? super Float> sink) {
+        for (float elem : elems) {
+            if (!sink.accept(elem)) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
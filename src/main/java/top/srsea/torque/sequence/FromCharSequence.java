@@ -19,13 +19,23 @@ package top.srsea.torque.sequence;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
-public class FromCharSequence extends Sequence<Character> {
+public class FromCharSequence extends IndexedSequence<Character> {
     private final CharSequence sequence;
 
     public FromCharSequence(CharSequence sequence) {
         this.sequence = sequence;
     }
 
+    @Override
+    public int size() {
+        return sequence.length();
+    }
+
+    @Override
+    public Character get(int index) {
+        return sequence.charAt(index);
+    }
+
     @Override
     public Iterator<Character> iterator() {
         return new Iterator<Character>() {
@@ -47,4 +57,14 @@ public class FromCharSequence extends Sequence<Character> {
             }
         };
     }
+
+    @Override
+    protected boolean consume(Sink<? super Character> sink) {
+        for (int i = 0; i < sequence.length(); ++i) {
+            if (!sink.accept(sequence.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
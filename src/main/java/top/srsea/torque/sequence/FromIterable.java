@@ -29,4 +29,9 @@ public class FromIterable<T> extends Sequence<T> {
     public Iterator<T> iterator() {
         return iterable.iterator();
     }
+
+    @Override
+    public int exactSize() {
+        return exactSize(iterable);
+    }
 }
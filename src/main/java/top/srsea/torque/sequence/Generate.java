@@ -17,6 +17,8 @@
 package top.srsea.torque.sequence;
 
 import top.srsea.torque.function.Function;
+import top.srsea.torque.function.Functions;
+import top.srsea.torque.function.Predicate;
 import top.srsea.torque.function.Supplier;
 
 import java.util.Iterator;
@@ -24,21 +26,29 @@ import java.util.NoSuchElementException;
 
 public class Generate<T> extends Sequence<T> {
     private final Supplier<? extends T> init;
-    private final Function<? super T, Boolean> cond;
+    private final Predicate<? super T> cond;
     private final Function<? super T, ? extends T> iterate;
 
+    /**
+     * @deprecated use {@link Sequence#generateWhile(Supplier, Predicate, Function)}, which tests without boxing
+     */
+    @Deprecated
     public Generate(Supplier<? extends T> init, Function<? super T, Boolean> cond, Function<? super T, ? extends T> iterate) {
+        this(init, Functions.asPredicate(cond), iterate);
+    }
+
+    Generate(Supplier<? extends T> init, Predicate<? super T> cond, Function<? super T, ? extends T> iterate) {
         this.init = init;
         this.cond = cond;
         this.iterate = iterate;
     }
 
     public Generate(Supplier<? extends T> init, Function<? super T, ? extends T> iterate) {
-        this(init, null, iterate);
+        this(init, (Predicate<? super T>) null, iterate);
     }
 
     public Generate(Supplier<? extends T> generator) {
-        this(generator, null, null);
+        this(generator, (Predicate<? super T>) null, null);
     }
 
     @Override
@@ -139,4 +149,25 @@ public class Generate<T> extends Sequence<T> {
             }
         };
     }
+
+    @Override
+    protected boolean consume(Sink<? super T> sink) {
+        if (cond == null) {
+            if (iterate == null) {
+                while (sink.accept(init.get())) ;
+                return false;
+            }
+            T next = init.get();
+            while (sink.accept(next)) {
+                next = iterate.invoke(next);
+            }
+            return false;
+        }
+        for (T next = init.get(); cond.invoke(next); next = iterate.invoke(next)) {
+            if (!sink.accept(next)) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
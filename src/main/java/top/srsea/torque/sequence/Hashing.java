@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.srsea.torque.sequence;
+
+/**
+ * Helpers shared by the open-addressing hash structures.
+ * <p>
+ * Each structure stores its entries densely in insertion order, and a power-of-two table of
+ * positions plus one, 0 for an empty slot, probed linearly. The table is kept at most half full.
+ */
+final class Hashing {
+    private static final int MAX_TABLE_SIZE = 1 << 30;
+    private static final int MAX_PRESIZE = 1 << 12;
+
+    private Hashing() {
+    }
+
+    static int mix(int hash) {
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    static int mix(long hash) {
+        return mix((int) (hash ^ (hash >>> 32)));
+    }
+
+    static int tableSizeFor(int expectedSize) {
+        int size = 16;
+        while (size < MAX_TABLE_SIZE && size >>> 1 < expectedSize) {
+            size <<= 1;
+        }
+        return size;
+    }
+
+    /**
+     * Returns the expected size to presize for from an estimated number of entries, capped so that
+     * an overestimate or a mostly repeated key set does not allocate a large table up front.
+     */
+    static int presize(int estimatedSize) {
+        return estimatedSize < 0 ? 0 : Math.min(estimatedSize, MAX_PRESIZE);
+    }
+
+    static boolean needsGrow(int size, int tableSize) {
+        return size > tableSize >>> 1 && tableSize < MAX_TABLE_SIZE;
+    }
+
+    static int grownCapacity(int capacity) {
+        int grown = capacity + (capacity >> 1) + 1;
+        return grown < 0 ? Integer.MAX_VALUE - 8 : grown;
+    }
+}
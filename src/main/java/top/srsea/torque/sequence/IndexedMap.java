@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.srsea.torque.sequence;
+
+import top.srsea.torque.function.Function;
+
+public class IndexedMap<T, U> extends IndexedSequence<U> {
+    private final IndexedSequence<T> sequence;
+    private final Function<? super T, ? extends U> transform;
+
+    public IndexedMap(IndexedSequence<T> sequence, Function<? super T, ? extends U> transform) {
+        this.sequence = sequence;
+        this.transform = transform;
+    }
+
+    @Override
+    public int size() {
+        return sequence.size();
+    }
+
+    @Override
+    public U get(int index) {
+        return transform.invoke(sequence.get(index));
+    }
+
+    @Override
+    protected boolean consume(final Sink<? super U> sink) {
+        return sequence.consume(new Sink<T>() {
+            @Override
+            public boolean accept(T elem) {
+                return sink.accept(transform.invoke(elem));
+            }
+        });
+    }
+
+    @Override
+    protected boolean consumeBlocks(final BlockSink<? super U> sink) {
+        final Object[] block = new Object[BLOCK_SIZE];
+        return sequence.consumeBlocks(new BlockSink<T>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public boolean accept(Object[] elems, int from, int to) {
+                for (int i = from; i < to; ++i) {
+                    block[i - from] = transform.invoke((T) elems[i]);
+                }
+                return sink.accept(block, 0, to - from);
+            }
+        });
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.srsea.torque.sequence;
+
+import top.srsea.torque.common.Option;
+import top.srsea.torque.common.Preconditions;
+import top.srsea.torque.function.Function;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A sequence with a known size and constant-time access by index.
+ * <p>
+ * nth, first and last read the element directly, drop and take return {@link Slice} views,
+ * and map keeps the result indexed. chunk and windowed return list views of the slices when
+ * the elements are stored, and read each element once otherwise, so a transform is never run
+ * again on each read.
+ *
+ * @param <T> type of element
+ */
+public abstract class IndexedSequence<T> extends Sequence<T> {
+
+    public abstract int size();
+
+    public abstract T get(int index);
+
+    /**
+     * Returns true if get reads stored elements rather than computing them, so views over
+     * this sequence can share it instead of copying. False by default.
+     */
+    protected boolean isStored() {
+        return false;
+    }
+
+    public IndexedSequence<T> slice(int from, int to) {
+        if (from < 0 || to > size() || from > to) {
+            throw new IndexOutOfBoundsException("slice [" + from + ", " + to + ") of size " + size());
+        }
+        if (from == 0 && to == size()) {
+            return this;
+        }
+        return new Slice<>(this, from, to - from);
+    }
+
+    @Override
+    public Option<T> first() {
+        return nth(0);
+    }
+
+    @Override
+    public Option<T> last() {
+        return nth(size() - 1);
+    }
+
+    @Override
+    public Option<T> nth(int index) {
+        if (index < 0 || index >= size()) {
+            return Option.none();
+        }
+        return Option.some(get(index));
+    }
+
+    @Override
+    public <U> IndexedSequence<U> map(Function<? super T, ? extends U> transform) {
+        return new IndexedMap<>(this, transform);
+    }
+
+    @Override
+    public IndexedSequence<T> take(int n) {
+        Preconditions.require(n >= 0, "count < 0");
+        return new Slice<>(this, 0, n);
+    }
+
+    @Override
+    public IndexedSequence<T> drop(int n) {
+        Preconditions.require(n >= 0, "count < 0");
+        if (n == 0) {
+            return this;
+        }
+        return new Slice<>(this, n, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public Sequence<List<T>> chunk(int n) {
+        return isStored() ? new IndexedChunk<>(this, n) : super.chunk(n);
+    }
+
+    @Override
+    public Sequence<List<T>> windowed(int size, int step) {
+        return isStored() ? new IndexedWindow<>(this, size, step) : super.windowed(size, step);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private final int size = size();
+            private int cursor = 0;
+
+            @Override
+            public boolean hasNext() {
+                return cursor != size;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return get(cursor++);
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    @Override
+    protected boolean consume(Sink<? super T> sink) {
+        for (int i = 0, size = size(); i < size; ++i) {
+            if (!sink.accept(get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Pushes the elements in [from, to) to the sink a block at a time, returns false if stopped by the sink.
+     * Sources backed by arrays override it to push their elements without going through get.
+     */
+    boolean consumeBlocks(int from, int to, BlockSink<? super T> sink) {
+        Object[] block = new Object[Math.max(Math.min(to - from, BLOCK_SIZE), 0)];
+        while (from < to) {
+            int size = Math.min(to - from, BLOCK_SIZE);
+            for (int i = 0; i < size; ++i) {
+                block[i] = get(from + i);
+            }
+            if (!sink.accept(block, 0, size)) {
+                return false;
+            }
+            from += size;
+        }
+        return true;
+    }
+
+    @Override
+    public int exactSize() {
+        return size();
+    }
+}
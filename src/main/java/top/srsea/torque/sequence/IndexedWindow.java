@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package top.srsea.torque.sequence;
+
+import top.srsea.torque.common.ObjectHelper;
+
+import java.util.List;
+
+/**
+ * Windows of an indexed sequence over stored elements, each a read-only {@link ListView} over its slice
+ * of the sequence, so no element is copied and every window stays valid.
+ *
+ * @param <T> type of element
+ */
+public class IndexedWindow<T> extends IndexedSequence<List<T>> {
+    private final IndexedSequence<T> sequence;
+    private final int size, step;
+
+    public IndexedWindow(IndexedSequence<T> sequence, int size, int step) {
+        ObjectHelper.verifyPositive(size, "size");
+        ObjectHelper.verifyPositive(step, "step");
+        this.sequence = sequence;
+        this.size = size;
+        this.step = step;
+    }
+
+    @Override
+    public int size() {
+        int count = sequence.size();
+        return count < size ? 0 : (count - size) / step + 1;
+    }
+
+    @Override
+    public List<T> get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + size());
+        }
+        int from = index * step;
+        return new ListView<>(sequence.slice(from, from + size));
+    }
+}
@@ -19,13 +19,36 @@ package top.srsea.torque.sequence;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
-public class IntArray extends Sequence<Integer> {
+public class IntArray extends IndexedSequence<Integer> {
     private final int[] elems;
 
     public IntArray(int[] elems) {
         this.elems = elems;
     }
 
+    @Override
+    protected boolean isStored() {
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return elems.length;
+    }
+
+    @Override
+    public Integer get(int index) {
+        return elems[index];
+    }
+
+    /**
+     * Returns the elements not seen before, tracked without boxing.
+     */
+    @Override
+    public Sequence<Integer> distinct() {
+        return new IntArraySequence(elems).distinct().boxed();
+    }
+
     @Override
     public Iterator<Integer> iterator() {
         return new Iterator<Integer>() {
@@ -47,4 +70,38 @@ public class IntArray extends Sequence<Integer> {
             }
         };
     }
+
+    @Override
+    protected boolean consume(Sink<? super Integer> sink) {
+        for (int elem : elems) {
+            if (!sink.accept(elem)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected boolean consumeBlocks(BlockSink<? super Integer> sink) {
+        return consumeBlocks(0, elems.length, sink);
+    }
+
+    /**
+     * Pushes the elements in [from, to) boxed into one reused block, read straight from the backing array.
+     */
+    @Override
+    boolean consumeBlocks(int from, int to, BlockSink<? super Integer> sink) {
+        Object[] block = new Object[Math.max(Math.min(to - from, BLOCK_SIZE), 0)];
+        while (from < to) {
+            int size = Math.min(to - from, BLOCK_SIZE);
+            for (int i = 0; i < size; ++i) {
+                block[i] = elems[from + i];
+            }
+            if (!sink.accept(block, 0, size)) {
+                return false;
+            }
+            from += size;
+        }
+        return true;
+    }
 }
@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.srsea.torque.sequence;
+
+import top.srsea.torque.common.ObjectHelper;
+import top.srsea.torque.function.IntBinaryOperator;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+public class IntArraySequence extends IntSequence {
+    private final int[] elems;
+    private final int from, to;
+
+    public IntArraySequence(int[] elems) {
+        this(elems, 0, elems.length);
+    }
+
+    /**
+     * A view of the elements in [from, to), sharing the array.
+     */
+    public IntArraySequence(int[] elems, int from, int to) {
+        if (from < 0 || to > elems.length || from > to) {
+            throw new IndexOutOfBoundsException("slice [" + from + ", " + to + ") of size " + elems.length);
+        }
+        this.elems = elems;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    public IntIterator iterator() {
+        return new IntIterator() {
+            private int cursor = from;
+
+            @Override
+            public boolean hasNext() {
+                return cursor != to;
+            }
+
+            @Override
+            public int nextInt() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return elems[cursor++];
+            }
+        };
+    }
+
+    @Override
+    public int count() {
+        return to - from;
+    }
+
+    @Override
+    public int fold(int init, IntBinaryOperator op) {
+        for (int i = from; i < to; ++i) {
+            init = op.invoke(init, elems[i]);
+        }
+        return init;
+    }
+
+    @Override
+    public long sum() {
+        long sum = 0;
+        for (int i = from; i < to; ++i) {
+            sum += elems[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Returns chunks that share the array, without copying.
+     */
+    @Override
+    public Sequence<IntSequence> chunk(final int n) {
+        ObjectHelper.verifyPositive(n, "size");
+        return new IndexedSequence<IntSequence>() {
+            @Override
+            public int size() {
+                return (int) (((long) to - from + n - 1) / n);
+            }
+
+            @Override
+            public IntSequence get(int index) {
+                if (index < 0 || index >= size()) {
+                    throw new IndexOutOfBoundsException("index: " + index + ", size: " + size());
+                }
+                long begin = from + (long) index * n;
+                return new IntArraySequence(elems, (int) begin, (int) Math.min(begin + n, to));
+            }
+        };
+    }
+
+    @Override
+    public Sequence<Integer> boxed() {
+        return new IntArray(elems).slice(from, to);
+    }
+
+    @Override
+    public int[] toArray() {
+        return Arrays.copyOfRange(elems, from, to);
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.srsea.torque.sequence;
+
+import top.srsea.torque.function.IntPredicate;
+
+/**
+ * The elements not seen before, in order. Each traversal tracks them in a new {@link IntHashSet}.
+ */
+public class IntDistinct extends IntSequence {
+    private final IntSequence sequence;
+
+    public IntDistinct(IntSequence sequence) {
+        this.sequence = sequence;
+    }
+
+    @Override
+    public IntIterator iterator() {
+        final IntHashSet seen = new IntHashSet();
+        return new IntFilter(sequence, new IntPredicate() {
+            @Override
+            public boolean invoke(int value) {
+                return seen.add(value);
+            }
+        }).iterator();
+    }
+}
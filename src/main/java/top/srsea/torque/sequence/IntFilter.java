@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.srsea.torque.sequence;
+
+import top.srsea.torque.function.IntPredicate;
+
+import java.util.NoSuchElementException;
+
+public class IntFilter extends IntSequence {
+    private final IntSequence sequence;
+    private final IntPredicate predicate;
+
+    public IntFilter(IntSequence sequence, IntPredicate predicate) {
+        this.sequence = sequence;
+        this.predicate = predicate;
+    }
+
+    @Override
+    public IntIterator iterator() {
+        return new IntIterator() {
+            final IntIterator iterator = sequence.iterator();
+            int next;
+            boolean nextEvaluated = false;
+
+            @Override
+            public boolean hasNext() {
+                while (!nextEvaluated && iterator.hasNext()) {
+                    next = iterator.nextInt();
+                    nextEvaluated = predicate.invoke(next);
+                }
+                return nextEvaluated;
+            }
+
+            @Override
+            public int nextInt() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                nextEvaluated = false;
+                return next;
+            }
+        };
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.srsea.torque.sequence;
+
+import top.srsea.torque.common.Option;
+import top.srsea.torque.common.Preconditions;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Arithmetic progression from begin (inclusive) to end (exclusive) by a non-zero step.
+ * <p>
+ * Size, element lookups and sums are computed in closed form.
+ */
+public class IntRange extends IntSequence {
+    private final int begin, end, step;
+
+    public IntRange(int begin, int end, int step) {
+        Preconditions.require(step != 0, "step == 0");
+        this.begin = begin;
+        this.end = end;
+        this.step = step;
+    }
+
+    @Override
+    public IntIterator iterator() {
+        return new IntIterator() {
+            int next = begin;
+            long left = length();
+
+            @Override
+            public boolean hasNext() {
+                return left > 0;
+            }
+
+            @Override
+            public int nextInt() {
+                if (left <= 0) {
+                    throw new NoSuchElementException();
+                }
+                int result = next;
+                next += step;
+                --left;
+                return result;
+            }
+        };
+    }
+
+    @Override
+    public int count() {
+        return (int) Math.min(length(), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public long sum() {
+        long n = length();
+        long triangle = (n & 1) == 0 ? (n >> 1) * (n - 1) : n * ((n - 1) >> 1);
+        return n * begin + triangle * step;
+    }
+
+    @Override
+    public Option<Integer> first() {
+        return nth(0);
+    }
+
+    @Override
+    public Option<Integer> last() {
+        return nth(length() - 1);
+    }
+
+    @Override
+    public Option<Integer> nth(int index) {
+        return nth((long) index);
+    }
+
+    @Override
+    public boolean contains(int elem) {
+        boolean within = step > 0 ? elem >= begin && elem < end : elem <= begin && elem > end;
+        return within && ((long) elem - begin) % step == 0;
+    }
+
+    @Override
+    public IntSequence take(int n) {
+        Preconditions.require(n >= 0, "count < 0");
+        return n >= length() ? this : new IntRange(begin, at(n), step);
+    }
+
+    @Override
+    public IntSequence drop(int n) {
+        Preconditions.require(n >= 0, "count < 0");
+        return n >= length() ? new IntRange(end, end, step) : n == 0 ? this : new IntRange(at(n), end, step);
+    }
+
+    /**
+     * Returns an indexed sequence, which can be split for parallel execution.
+     */
+    @Override
+    public Sequence<Integer> boxed() {
+        final long length = length();
+        if (length > Integer.MAX_VALUE) {
+            return super.boxed();
+        }
+        return new IndexedSequence<Integer>() {
+            @Override
+            public int size() {
+                return (int) length;
+            }
+
+            @Override
+            public Integer get(int index) {
+                if (index < 0 || index >= length) {
+                    throw new IndexOutOfBoundsException("index: " + index + ", size: " + length);
+                }
+                return at(index);
+            }
+        };
+    }
+
+    private Option<Integer> nth(long index) {
+        return index < 0 || index >= length() ? Option.<Integer>none() : Option.some(at(index));
+    }
+
+    private int at(long index) {
+        return (int) (begin + index * step);
+    }
+
+    private long length() {
+        if (step > 0) {
+            return begin >= end ? 0 : ((long) end - begin - 1) / step + 1;
+        }
+        return begin <= end ? 0 : ((long) begin - end - 1) / -(long) step + 1;
+    }
+}
@@ -0,0 +1,304 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.srsea.torque.sequence;
+
+import top.srsea.torque.common.Option;
+import top.srsea.torque.function.IntBinaryOperator;
+import top.srsea.torque.function.IntConsumer;
+import top.srsea.torque.function.IntFunction;
+import top.srsea.torque.function.IntPredicate;
+import top.srsea.torque.function.IntUnaryOperator;
+
+import java.util.Arrays;
+
+public abstract class IntSequence implements Iterable<Integer> {
+    private static final IntFunction<Integer> BOX = new IntFunction<Integer>() {
+        @Override
+        public Integer invoke(int value) {
+            return value;
+        }
+    };
+
+    public static IntSequence of(int... elems) {
+        return new IntArraySequence(elems);
+    }
+
+    public static IntSequence from(int[] array) {
+        return of(array);
+    }
+
+    public static IntSequence range(int begin, int end, int step) {
+        return new IntRange(begin, end, step);
+    }
+
+    public static IntSequence range(int begin, int end) {
+        return range(begin, end, 1);
+    }
+
+    @Override
+    public abstract IntIterator iterator();
+
+    public int count() {
+        int count = 0;
+        for (IntIterator iterator = iterator(); iterator.hasNext(); iterator.nextInt()) {
+            ++count;
+        }
+        return count;
+    }
+
+    public int count(IntPredicate pred) {
+        int count = 0;
+        IntIterator iterator = iterator();
+        while (iterator.hasNext()) {
+            if (pred.invoke(iterator.nextInt())) {
+                ++count;
+            }
+        }
+        return count;
+    }
+
+    public int fold(int init, IntBinaryOperator op) {
+        IntIterator iterator = iterator();
+        while (iterator.hasNext()) {
+            init = op.invoke(init, iterator.nextInt());
+        }
+        return init;
+    }
+
+    public long sum() {
+        long sum = 0;
+        IntIterator iterator = iterator();
+        while (iterator.hasNext()) {
+            sum += iterator.nextInt();
+        }
+        return sum;
+    }
+
+    public Option<Integer> min() {
+        IntIterator iterator = iterator();
+        if (!iterator.hasNext()) {
+            return Option.none();
+        }
+        int min = iterator.nextInt();
+        while (iterator.hasNext()) {
+            int next = iterator.nextInt();
+            if (next < min) {
+                min = next;
+            }
+        }
+        return Option.some(min);
+    }
+
+    public Option<Integer> max() {
+        IntIterator iterator = iterator();
+        if (!iterator.hasNext()) {
+            return Option.none();
+        }
+        int max = iterator.nextInt();
+        while (iterator.hasNext()) {
+            int next = iterator.nextInt();
+            if (next > max) {
+                max = next;
+            }
+        }
+        return Option.some(max);
+    }
+
+    public Option<Integer> first() {
+        IntIterator iterator = iterator();
+        return iterator.hasNext() ? Option.some(iterator.nextInt()) : Option.<Integer>none();
+    }
+
+    public Option<Integer> last() {
+        IntIterator iterator = iterator();
+        if (!iterator.hasNext()) {
+            return Option.none();
+        }
+        int last = iterator.nextInt();
+        while (iterator.hasNext()) {
+            last = iterator.nextInt();
+        }
+        return Option.some(last);
+    }
+
+    public Option<Integer> nth(int index) {
+        if (index < 0) return Option.none();
+        IntIterator iterator = iterator();
+        for (int i = index; i > 0; --i, iterator.nextInt()) {
+            if (!iterator.hasNext()) {
+                return Option.none();
+            }
+        }
+        return iterator.hasNext() ? Option.some(iterator.nextInt()) : Option.<Integer>none();
+    }
+
+    public boolean contains(int elem) {
+        IntIterator iterator = iterator();
+        while (iterator.hasNext()) {
+            if (iterator.nextInt() == elem) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public IntSequence take(int n) {
+        return new IntTake(this, n);
+    }
+
+    public IntSequence drop(int n) {
+        if (n == 0) {
+            return this;
+        }
+        return new IntDrop(this, n);
+    }
+
+    /**
+     * Returns the elements not seen before, in order, tracked without boxing.
+     */
+    public IntSequence distinct() {
+        return new IntDistinct(this);
+    }
+
+    /**
+     * Groups the elements by key, keys and elements in encounter order, without boxing either.
+     */
+    public IntHashMap<int[]> groupBy(IntUnaryOperator key) {
+        IntHashMap<int[]> groups = new IntHashMap<>();
+        int[] sizes = new int[16];
+        IntIterator iterator = iterator();
+        while (iterator.hasNext()) {
+            int elem = iterator.nextInt();
+            int position = groups.insert(key.invoke(elem));
+            if (position == sizes.length) {
+                sizes = Arrays.copyOf(sizes, position << 1);
+            }
+            int[] group = groups.valueAt(position);
+            if (group == null || sizes[position] == group.length) {
+                group = group == null ? new int[4] : Arrays.copyOf(group, group.length << 1);
+                groups.setValueAt(position, group);
+            }
+            group[sizes[position]++] = elem;
+        }
+        for (int i = 0; i < groups.size(); ++i) {
+            int[] group = groups.valueAt(i);
+            if (group.length != sizes[i]) {
+                groups.setValueAt(i, Arrays.copyOf(group, sizes[i]));
+            }
+        }
+        return groups;
+    }
+
+    /**
+     * Counts the elements by key, keys in encounter order, without boxing keys.
+     */
+    public IntHashMap<Integer> countBy(IntUnaryOperator key) {
+        IntHashMap<Integer> counts = new IntHashMap<>();
+        int[] tally = new int[16];
+        IntIterator iterator = iterator();
+        while (iterator.hasNext()) {
+            int position = counts.insert(key.invoke(iterator.nextInt()));
+            if (position == tally.length) {
+                tally = Arrays.copyOf(tally, position << 1);
+            }
+            ++tally[position];
+        }
+        for (int i = 0; i < counts.size(); ++i) {
+            counts.setValueAt(i, tally[i]);
+        }
+        return counts;
+    }
+
+    /**
+     * Returns the sum of every window of size consecutive elements, kept running over a ring buffer.
+     */
+    public LongSequence slidingSum(int size) {
+        return new IntSlidingSum(this, size);
+    }
+
+    /**
+     * Returns the minimum of every window of size consecutive elements, in constant amortized time per element.
+     */
+    public IntSequence slidingMin(int size) {
+        return new IntSlidingExtreme(this, size, false);
+    }
+
+    /**
+     * Returns the maximum of every window of size consecutive elements, in constant amortized time per element.
+     */
+    public IntSequence slidingMax(int size) {
+        return new IntSlidingExtreme(this, size, true);
+    }
+
+    /**
+     * Returns the elements in sequences of n, the last one may be shorter.
+     */
+    public Sequence<IntSequence> chunk(int n) {
+        return new IntChunk(this, n);
+    }
+
+    public IntSequence map(IntUnaryOperator transform) {
+        return new IntMap(this, transform);
+    }
+
+    public IntSequence filter(IntPredicate pred) {
+        return new IntFilter(this, pred);
+    }
+
+    public <U> Sequence<U> mapToObj(IntFunction<? extends U> transform) {
+        return new IntMapToObj<>(this, transform);
+    }
+
+    public Sequence<Integer> boxed() {
+        return mapToObj(BOX);
+    }
+
+    public void foreach(IntConsumer action) {
+        IntIterator iterator = iterator();
+        while (iterator.hasNext()) {
+            action.accept(iterator.nextInt());
+        }
+    }
+
+    public int[] toArray() {
+        int[] elems = new int[16];
+        int size = 0;
+        IntIterator iterator = iterator();
+        while (iterator.hasNext()) {
+            if (size == elems.length) {
+                elems = Arrays.copyOf(elems, size << 1);
+            }
+            elems[size++] = iterator.nextInt();
+        }
+        return size == elems.length ? elems : Arrays.copyOf(elems, size);
+    }
+
+    @Override
+    public String toString() {
+        IntIterator iterator = iterator();
+        if (!iterator.hasNext()) return "()";
+        StringBuilder builder = new StringBuilder("(");
+        while (iterator.hasNext()) {
+            builder.append(iterator.nextInt());
+            if (iterator.hasNext()) {
+                builder.append(',').append(' ');
+            }
+        }
+        builder.append(')');
+        return builder.toString();
+    }
+}
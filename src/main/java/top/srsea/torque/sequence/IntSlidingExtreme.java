@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package top.srsea.torque.sequence;
+
+import top.srsea.torque.common.ObjectHelper;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Minimums or maximums of every window of size consecutive elements.
+ * <p>
+ * Candidates are kept in a monotonic deque on a ring buffer: each element is pushed and popped
+ * at most once, so the work per element is constant amortized, whatever the window size.
+ */
+public class IntSlidingExtreme extends IntSequence {
+    private final IntSequence sequence;
+    private final int size;
+    private final boolean max;
+
+    /**
+     * @param max whether to compute maximums, instead of minimums
+     */
+    public IntSlidingExtreme(IntSequence sequence, int size, boolean max) {
+        ObjectHelper.verifyPositive(size, "size");
+        this.sequence = sequence;
+        this.size = size;
+        this.max = max;
+    }
+
+    @Override
+    public IntIterator iterator() {
+        return new IntIterator() {
+            final IntIterator iterator = sequence.iterator();
+            final int[] values = new int[size];
+            final long[] indices = new long[size];
+            int head, count;
+            long index;
+            boolean first = true;
+
+            private void push(int value) {
+                while (count > 0) {
+                    int tail = head + count - 1;
+                    int last = values[tail < size ? tail : tail - size];
+                    if (max ? last > value : last < value) {
+                        break;
+                    }
+                    --count;
+                }
+                if (count > 0 && indices[head] <= index - size) {
+                    if (++head == size) {
+                        head = 0;
+                    }
+                    --count;
+                }
+                int tail = head + count;
+                tail = tail < size ? tail : tail - size;
+                values[tail] = value;
+                indices[tail] = index++;
+                ++count;
+            }
+
+            @Override
+            public boolean hasNext() {
+                if (first) {
+                    first = false;
+                    while (index < size - 1) {
+                        if (!iterator.hasNext()) {
+                            return false;
+                        }
+                        push(iterator.nextInt());
+                    }
+                }
+                return iterator.hasNext();
+            }
+
+            @Override
+            public int nextInt() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                push(iterator.nextInt());
+                return values[head];
+            }
+        };
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package top.srsea.torque.sequence;
+
+import top.srsea.torque.common.ObjectHelper;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Sums of every window of size consecutive elements, as long to avoid overflow.
+ * <p>
+ * The window is a ring buffer and the sum is kept running, so each element costs one addition and one subtraction.
+ */
+public class IntSlidingSum extends LongSequence {
+    private final IntSequence sequence;
+    private final int size;
+
+    public IntSlidingSum(IntSequence sequence, int size) {
+        ObjectHelper.verifyPositive(size, "size");
+        this.sequence = sequence;
+        this.size = size;
+    }
+
+    @Override
+    public LongIterator iterator() {
+        return new LongIterator() {
+            final IntIterator iterator = sequence.iterator();
+            final int[] ring = new int[size];
+            int slot;
+            long sum;
+            boolean first = true;
+
+            @Override
+            public boolean hasNext() {
+                if (first) {
+                    first = false;
+                    for (; slot < size - 1; ++slot) {
+                        if (!iterator.hasNext()) {
+                            return false;
+                        }
+                        sum += ring[slot] = iterator.nextInt();
+                    }
+                }
+                return iterator.hasNext();
+            }
+
+            @Override
+            public long nextLong() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int next = iterator.nextInt();
+                sum += next;
+                ring[slot] = next;
+                long result = sum;
+                if (++slot == size) {
+                    slot = 0;
+                }
+                sum -= ring[slot];
+                return result;
+            }
+        };
+    }
+}
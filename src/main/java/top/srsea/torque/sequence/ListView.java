@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.srsea.torque.sequence;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * A read-only list view of an indexed sequence.
+ *
+ * @param <T> type of element
+ */
+public class ListView<T> extends AbstractList<T> implements RandomAccess {
+    private final IndexedSequence<T> sequence;
+
+    public ListView(IndexedSequence<T> sequence) {
+        this.sequence = sequence;
+    }
+
+    @Override
+    public T get(int index) {
+        return sequence.get(index);
+    }
+
+    @Override
+    public int size() {
+        return sequence.size();
+    }
+}
@@ -19,13 +19,36 @@ package top.srsea.torque.sequence;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
-public class LongArray extends Sequence<Long> {
+public class LongArray extends IndexedSequence<Long> {
     private final long[] elems;
 
     public LongArray(long[] elems) {
         this.elems = elems;
     }
 
+    @Override
+    protected boolean isStored() {
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return elems.length;
+    }
+
+    @Override
+    public Long get(int index) {
+        return elems[index];
+    }
+
+    /**
+     * Returns the elements not seen before, tracked without boxing.
+     */
+    @Override
+    public Sequence<Long> distinct() {
+        return new LongArraySequence(elems).distinct().boxed();
+    }
+
     @Override
     public Iterator<Long> iterator() {
         return new Iterator<Long>() {
@@ -47,4 +70,38 @@ public class LongArray extends Sequence<Long> {
             }
         };
     }
+
+    @Override
+    protected boolean consume(Sink<? super Long> sink) {
+        for (long elem : elems) {
+            if (!sink.accept(elem)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected boolean consumeBlocks(BlockSink<? super Long> sink) {
+        return consumeBlocks(0, elems.length, sink);
+    }
+
+    /**
+     * Pushes the elements in [from, to) boxed into one reused block, read straight from the backing array.
+     */
+    @Override
+    boolean consumeBlocks(int from, int to, BlockSink<? super Long> sink) {
+        Object[] block = new Object[Math.max(Math.min(to - from, BLOCK_SIZE), 0)];
+        while (from < to) {
+            int size = Math.min(to - from, BLOCK_SIZE);
+            for (int i = 0; i < size; ++i) {
+                block[i] = elems[from + i];
+            }
+            if (!sink.accept(block, 0, size)) {
+                return false;
+            }
+            from += size;
+        }
+        return true;
+    }
 }
@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.srsea.torque.sequence;
+
+import top.srsea.torque.common.ObjectHelper;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+public class LongChunk extends Sequence<LongSequence> {
+    private final LongSequence sequence;
+    private final int size;
+
+    public LongChunk(LongSequence sequence, int size) {
+        ObjectHelper.verifyPositive(size, "size");
+        this.sequence = sequence;
+        this.size = size;
+    }
+
+    @Override
+    public Iterator<LongSequence> iterator() {
+        return new Iterator<LongSequence>() {
+            final LongIterator iterator = sequence.iterator();
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public LongSequence next() {
+                long[] block = new long[Math.min(size, 16)];
+                int count = 0;
+                while (count < size && iterator.hasNext()) {
+                    if (count == block.length) {
+                        block = Arrays.copyOf(block, (int) Math.min((long) count << 1, size));
+                    }
+                    block[count++] = iterator.nextLong();
+                }
+                return new LongArraySequence(block, 0, count);
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+}
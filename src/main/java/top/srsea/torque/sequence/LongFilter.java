@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.srsea.torque.sequence;
+
+import top.srsea.torque.function.LongPredicate;
+
+import java.util.NoSuchElementException;
+
+public class LongFilter extends LongSequence {
+    private final LongSequence sequence;
+    private final LongPredicate predicate;
+
+    public LongFilter(LongSequence sequence, LongPredicate predicate) {
+        this.sequence = sequence;
+        this.predicate = predicate;
+    }
+
+    @Override
+    public LongIterator iterator() {
+        return new LongIterator() {
+            final LongIterator iterator = sequence.iterator();
+            long next;
+            boolean nextEvaluated = false;
+
+            @Override
+            public boolean hasNext() {
+                while (!nextEvaluated && iterator.hasNext()) {
+                    next = iterator.nextLong();
+                    nextEvaluated = predicate.invoke(next);
+                }
+                return nextEvaluated;
+            }
+
+            @Override
+            public long nextLong() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                nextEvaluated = false;
+                return next;
+            }
+        };
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.srsea.torque.sequence;
+
+import top.srsea.torque.common.Preconditions;
+
+import java.util.Arrays;
+
+/**
+ * A map from longs to values using open addressing, without boxing keys or a node per entry.
+ * Entries are kept in insertion order at positions 0 to size - 1; removal is not supported.
+ *
+ * @param <V> type of value
+ */
+public class LongHashMap<V> {
+    private long[] keys;
+    private Object[] values;
+    private int[] table;
+    private int size;
+
+    public LongHashMap() {
+        this(0);
+    }
+
+    public LongHashMap(int expectedSize) {
+        Preconditions.require(expectedSize >= 0, "expectedSize < 0");
+        int capacity = Math.max(expectedSize, 8);
+        this.keys = new long[capacity];
+        this.values = new Object[capacity];
+        this.table = new int[Hashing.tableSizeFor(expectedSize)];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean containsKey(long key) {
+        return find(key) >= 0;
+    }
+
+    /**
+     * Returns the value of the key, or null if absent.
+     */
+    public V get(long key) {
+        int position = find(key);
+        return position < 0 ? null : valueAt(position);
+    }
+
+    /**
+     * Associates the value with the key, returns the previous value or null if absent.
+     */
+    public V put(long key, V value) {
+        int position = insert(key);
+        V old = valueAt(position);
+        values[position] = value;
+        return old;
+    }
+
+    public long keyAt(int position) {
+        checkPosition(position);
+        return keys[position];
+    }
+
+    @SuppressWarnings("unchecked")
+    public V valueAt(int position) {
+        checkPosition(position);
+        return (V) values[position];
+    }
+
+    /**
+     * Returns the keys in insertion order.
+     */
+    public long[] keys() {
+        return Arrays.copyOf(keys, size);
+    }
+
+    /**
+     * Returns the position of the key, or -1 if absent.
+     */
+    int find(long key) {
+        int mask = table.length - 1;
+        for (int i = Hashing.mix(key) & mask; ; i = (i + 1) & mask) {
+            int position = table[i] - 1;
+            if (position < 0) {
+                return -1;
+            }
+            if (keys[position] == key) {
+                return position;
+            }
+        }
+    }
+
+    /**
+     * Returns the position of the key, adding it with a null value if absent.
+     */
+    int insert(long key) {
+        int mask = table.length - 1;
+        for (int i = Hashing.mix(key) & mask; ; i = (i + 1) & mask) {
+            int position = table[i] - 1;
+            if (position < 0) {
+                if (size == keys.length) {
+                    int capacity = Hashing.grownCapacity(size);
+                    keys = Arrays.copyOf(keys, capacity);
+                    values = Arrays.copyOf(values, capacity);
+                }
+                keys[size] = key;
+                table[i] = ++size;
+                if (Hashing.needsGrow(size, table.length)) {
+                    rehash();
+                }
+                return size - 1;
+            }
+            if (keys[position] == key) {
+                return position;
+            }
+        }
+    }
+
+    void setValueAt(int position, V value) {
+        values[position] = value;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("{");
+        for (int position = 0; position < size; ++position) {
+            if (position > 0) {
+                builder.append(',').append(' ');
+            }
+            builder.append(keys[position]).append('=').append(values[position]);
+        }
+        builder.append('}');
+        return builder.toString();
+    }
+
+    private void checkPosition(int position) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException("position: " + position + ", size: " + size);
+        }
+    }
+
+    private void rehash() {
+        int[] table = new int[this.table.length << 1];
+        int mask = table.length - 1;
+        for (int position = 0; position < size; ++position) {
+            int i = Hashing.mix(keys[position]) & mask;
+            while (table[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            table[i] = position + 1;
+        }
+        this.table = table;
+    }
+}
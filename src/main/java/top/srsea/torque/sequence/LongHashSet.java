@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.srsea.torque.sequence;
+
+import top.srsea.torque.common.Preconditions;
+
+import java.util.Arrays;
+
+/**
+ * A set of longs using open addressing, without boxing or a node per element.
+ * Elements are kept in insertion order.
+ */
+public class LongHashSet {
+    private long[] elems;
+    private int[] table;
+    private int size;
+
+    public LongHashSet() {
+        this(0);
+    }
+
+    public LongHashSet(int expectedSize) {
+        Preconditions.require(expectedSize >= 0, "expectedSize < 0");
+        this.elems = new long[Math.max(expectedSize, 8)];
+        this.table = new int[Hashing.tableSizeFor(expectedSize)];
+    }
+
+    /**
+     * Adds the element, returns false if it is already present.
+     */
+    public boolean add(long elem) {
+        int mask = table.length - 1;
+        for (int i = Hashing.mix(elem) & mask; ; i = (i + 1) & mask) {
+            int position = table[i];
+            if (position == 0) {
+                if (size == elems.length) {
+                    elems = Arrays.copyOf(elems, Hashing.grownCapacity(size));
+                }
+                elems[size] = elem;
+                table[i] = ++size;
+                if (Hashing.needsGrow(size, table.length)) {
+                    rehash();
+                }
+                return true;
+            }
+            if (elems[position - 1] == elem) {
+                return false;
+            }
+        }
+    }
+
+    public boolean contains(long elem) {
+        int mask = table.length - 1;
+        for (int i = Hashing.mix(elem) & mask; ; i = (i + 1) & mask) {
+            int position = table[i];
+            if (position == 0) {
+                return false;
+            }
+            if (elems[position - 1] == elem) {
+                return true;
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the elements in insertion order.
+     */
+    public long[] toArray() {
+        return Arrays.copyOf(elems, size);
+    }
+
+    private void rehash() {
+        int[] table = new int[this.table.length << 1];
+        int mask = table.length - 1;
+        for (int position = 0; position < size; ++position) {
+            int i = Hashing.mix(elems[position]) & mask;
+            while (table[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            table[i] = position + 1;
+        }
+        this.table = table;
+    }
+}
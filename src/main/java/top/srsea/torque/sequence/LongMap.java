@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.srsea.torque.sequence;
+
+import top.srsea.torque.function.LongUnaryOperator;
+
+public class LongMap extends LongSequence {
+    private final LongSequence sequence;
+    private final LongUnaryOperator transform;
+
+    public LongMap(LongSequence sequence, LongUnaryOperator transform) {
+        this.sequence = sequence;
+        this.transform = transform;
+    }
+
+    @Override
+    public LongIterator iterator() {
+        return new LongIterator() {
+            final LongIterator iterator = sequence.iterator();
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public long nextLong() {
+                return transform.invoke(iterator.nextLong());
+            }
+        };
+    }
+
+    @Override
+    public int count() {
+        return sequence.count();
+    }
+}
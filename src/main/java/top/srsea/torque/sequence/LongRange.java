@@ -0,0 +1,172 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.srsea.torque.sequence;
+
+import top.srsea.torque.common.Option;
+import top.srsea.torque.common.Preconditions;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Arithmetic progression from begin (inclusive) to end (exclusive) by a non-zero step.
+ * <p>
+ * Size, element lookups and sums are computed in closed form.
+ */
+public class LongRange extends LongSequence {
+    private final long begin, end, step;
+
+    public LongRange(long begin, long end, long step) {
+        Preconditions.require(step != 0, "step == 0");
+        this.begin = begin;
+        this.end = end;
+        this.step = step;
+    }
+
+    @Override
+    public LongIterator iterator() {
+        return new LongIterator() {
+            long next = begin;
+            long left = length();
+
+            @Override
+            public boolean hasNext() {
+                return left > 0;
+            }
+
+            @Override
+            public long nextLong() {
+                if (left <= 0) {
+                    throw new NoSuchElementException();
+                }
+                long result = next;
+                next += step;
+                --left;
+                return result;
+            }
+        };
+    }
+
+    @Override
+    public int count() {
+        return (int) Math.min(length(), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public long sum() {
+        long n = length();
+        long triangle = (n & 1) == 0 ? (n >> 1) * (n - 1) : n * ((n - 1) >> 1);
+        return n * begin + triangle * step;
+    }
+
+    @Override
+    public Option<Long> first() {
+        return nth(0);
+    }
+
+    @Override
+    public Option<Long> last() {
+        return nth(length() - 1);
+    }
+
+    @Override
+    public Option<Long> nth(int index) {
+        return nth((long) index);
+    }
+
+    @Override
+    public boolean contains(long elem) {
+        boolean within = step > 0 ? elem >= begin && elem < end : elem <= begin && elem > end;
+        return within && remainderUnsigned(step > 0 ? elem - begin : begin - elem, magnitude()) == 0;
+    }
+
+    @Override
+    public LongSequence take(int n) {
+        Preconditions.require(n >= 0, "count < 0");
+        return n >= length() ? this : new LongRange(begin, at(n), step);
+    }
+
+    @Override
+    public LongSequence drop(int n) {
+        Preconditions.require(n >= 0, "count < 0");
+        return n >= length() ? new LongRange(end, end, step) : n == 0 ? this : new LongRange(at(n), end, step);
+    }
+
+    /**
+     * Returns an indexed sequence, which can be split for parallel execution.
+     */
+    @Override
+    public Sequence<Long> boxed() {
+        final long length = length();
+        if (length > Integer.MAX_VALUE) {
+            return super.boxed();
+        }
+        return new IndexedSequence<Long>() {
+            @Override
+            public int size() {
+                return (int) length;
+            }
+
+            @Override
+            public Long get(int index) {
+                if (index < 0 || index >= length) {
+                    throw new IndexOutOfBoundsException("index: " + index + ", size: " + length);
+                }
+                return at(index);
+            }
+        };
+    }
+
+    private Option<Long> nth(long index) {
+        return index < 0 || index >= length() ? Option.<Long>none() : Option.some(at(index));
+    }
+
+    private long at(long index) {
+        return begin + index * step;
+    }
+
+    private long length() {
+        long span = step > 0 ? end - begin : begin - end;
+        if (step > 0 ? begin >= end : begin <= end) {
+            return 0;
+        }
+        long length = divideUnsigned(span - 1, magnitude()) + 1;
+        return length < 0 ? Long.MAX_VALUE : length;
+    }
+
+    /**
+     * Returns the absolute value of step, as unsigned.
+     */
+    private long magnitude() {
+        return step > 0 ? step : -step;
+    }
+
+    private static long divideUnsigned(long dividend, long divisor) {
+        if (divisor < 0) {
+            return dividend + Long.MIN_VALUE < divisor + Long.MIN_VALUE ? 0 : 1;
+        }
+        if (dividend >= 0) {
+            return dividend / divisor;
+        }
+        long quotient = ((dividend >>> 1) / divisor) << 1;
+        long rem = dividend - quotient * divisor;
+        return quotient + (rem + Long.MIN_VALUE >= divisor + Long.MIN_VALUE ? 1 : 0);
+    }
+
+    private static long remainderUnsigned(long dividend, long divisor) {
+        return dividend - divideUnsigned(dividend, divisor) * divisor;
+    }
+}
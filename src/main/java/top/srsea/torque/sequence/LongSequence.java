@@ -0,0 +1,283 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.srsea.torque.sequence;
+
+import top.srsea.torque.common.Option;
+import top.srsea.torque.function.LongBinaryOperator;
+import top.srsea.torque.function.LongConsumer;
+import top.srsea.torque.function.LongFunction;
+import top.srsea.torque.function.LongPredicate;
+import top.srsea.torque.function.LongUnaryOperator;
+
+import java.util.Arrays;
+
+public abstract class LongSequence implements Iterable<Long> {
+    private static final LongFunction<Long> BOX = new LongFunction<Long>() {
+        @Override
+        public Long invoke(long value) {
+            return value;
+        }
+    };
+
+    public static LongSequence of(long... elems) {
+        return new LongArraySequence(elems);
+    }
+
+    public static LongSequence from(long[] array) {
+        return of(array);
+    }
+
+    public static LongSequence range(long begin, long end, long step) {
+        return new LongRange(begin, end, step);
+    }
+
+    public static LongSequence range(long begin, long end) {
+        return range(begin, end, 1);
+    }
+
+    @Override
+    public abstract LongIterator iterator();
+
+    public int count() {
+        int count = 0;
+        for (LongIterator iterator = iterator(); iterator.hasNext(); iterator.nextLong()) {
+            ++count;
+        }
+        return count;
+    }
+
+    public int count(LongPredicate pred) {
+        int count = 0;
+        LongIterator iterator = iterator();
+        while (iterator.hasNext()) {
+            if (pred.invoke(iterator.nextLong())) {
+                ++count;
+            }
+        }
+        return count;
+    }
+
+    public long fold(long init, LongBinaryOperator op) {
+        LongIterator iterator = iterator();
+        while (iterator.hasNext()) {
+            init = op.invoke(init, iterator.nextLong());
+        }
+        return init;
+    }
+
+    public long sum() {
+        long sum = 0;
+        LongIterator iterator = iterator();
+        while (iterator.hasNext()) {
+            sum += iterator.nextLong();
+        }
+        return sum;
+    }
+
+    public Option<Long> min() {
+        LongIterator iterator = iterator();
+        if (!iterator.hasNext()) {
+            return Option.none();
+        }
+        long min = iterator.nextLong();
+        while (iterator.hasNext()) {
+            long next = iterator.nextLong();
+            if (next < min) {
+                min = next;
+            }
+        }
+        return Option.some(min);
+    }
+
+    public Option<Long> max() {
+        LongIterator iterator = iterator();
+        if (!iterator.hasNext()) {
+            return Option.none();
+        }
+        long max = iterator.nextLong();
+        while (iterator.hasNext()) {
+            long next = iterator.nextLong();
+            if (next > max) {
+                max = next;
+            }
+        }
+        return Option.some(max);
+    }
+
+    public Option<Long> first() {
+        LongIterator iterator = iterator();
+        return iterator.hasNext() ? Option.some(iterator.nextLong()) : Option.<Long>none();
+    }
+
+    public Option<Long> last() {
+        LongIterator iterator = iterator();
+        if (!iterator.hasNext()) {
+            return Option.none();
+        }
+        long last = iterator.nextLong();
+        while (iterator.hasNext()) {
+            last = iterator.nextLong();
+        }
+        return Option.some(last);
+    }
+
+    public Option<Long> nth(int index) {
+        if (index < 0) return Option.none();
+        LongIterator iterator = iterator();
+        for (int i = index; i > 0; --i, iterator.nextLong()) {
+            if (!iterator.hasNext()) {
+                return Option.none();
+            }
+        }
+        return iterator.hasNext() ? Option.some(iterator.nextLong()) : Option.<Long>none();
+    }
+
+    public boolean contains(long elem) {
+        LongIterator iterator = iterator();
+        while (iterator.hasNext()) {
+            if (iterator.nextLong() == elem) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public LongSequence take(int n) {
+        return new LongTake(this, n);
+    }
+
+    public LongSequence drop(int n) {
+        if (n == 0) {
+            return this;
+        }
+        return new LongDrop(this, n);
+    }
+
+    /**
+     * Returns the elements not seen before, in order, tracked without boxing.
+     */
+    public LongSequence distinct() {
+        return new LongDistinct(this);
+    }
+
+    /**
+     * Groups the elements by key, keys and elements in encounter order, without boxing either.
+     */
+    public LongHashMap<long[]> groupBy(LongUnaryOperator key) {
+        LongHashMap<long[]> groups = new LongHashMap<>();
+        int[] sizes = new int[16];
+        LongIterator iterator = iterator();
+        while (iterator.hasNext()) {
+            long elem = iterator.nextLong();
+            int position = groups.insert(key.invoke(elem));
+            if (position == sizes.length) {
+                sizes = Arrays.copyOf(sizes, position << 1);
+            }
+            long[] group = groups.valueAt(position);
+            if (group == null || sizes[position] == group.length) {
+                group = group == null ? new long[4] : Arrays.copyOf(group, group.length << 1);
+                groups.setValueAt(position, group);
+            }
+            group[sizes[position]++] = elem;
+        }
+        for (int i = 0; i < groups.size(); ++i) {
+            long[] group = groups.valueAt(i);
+            if (group.length != sizes[i]) {
+                groups.setValueAt(i, Arrays.copyOf(group, sizes[i]));
+            }
+        }
+        return groups;
+    }
+
+    /**
+     * Counts the elements by key, keys in encounter order, without boxing keys.
+     */
+    public LongHashMap<Integer> countBy(LongUnaryOperator key) {
+        LongHashMap<Integer> counts = new LongHashMap<>();
+        int[] tally = new int[16];
+        LongIterator iterator = iterator();
+        while (iterator.hasNext()) {
+            int position = counts.insert(key.invoke(iterator.nextLong()));
+            if (position == tally.length) {
+                tally = Arrays.copyOf(tally, position << 1);
+            }
+            ++tally[position];
+        }
+        for (int i = 0; i < counts.size(); ++i) {
+            counts.setValueAt(i, tally[i]);
+        }
+        return counts;
+    }
+
+    /**
+     * Returns the elements in sequences of n, the last one may be shorter.
+     */
+    public Sequence<LongSequence> chunk(int n) {
+        return new LongChunk(this, n);
+    }
+
+    public LongSequence map(LongUnaryOperator transform) {
+        return new LongMap(this, transform);
+    }
+
+    public LongSequence filter(LongPredicate pred) {
+        return new LongFilter(this, pred);
+    }
+
+    public <U> Sequence<U> mapToObj(LongFunction<? extends U> transform) {
+        return new LongMapToObj<>(this, transform);
+    }
+
+    public Sequence<Long> boxed() {
+        return mapToObj(BOX);
+    }
+
+    public void foreach(LongConsumer action) {
+        LongIterator iterator = iterator();
+        while (iterator.hasNext()) {
+            action.accept(iterator.nextLong());
+        }
+    }
+
+    public long[] toArray() {
+        long[] elems = new long[16];
+        int size = 0;
+        LongIterator iterator = iterator();
+        while (iterator.hasNext()) {
+            if (size == elems.length) {
+                elems = Arrays.copyOf(elems, size << 1);
+            }
+            elems[size++] = iterator.nextLong();
+        }
+        return size == elems.length ? elems : Arrays.copyOf(elems, size);
+    }
+
+    @Override
+    public String toString() {
+        LongIterator iterator = iterator();
+        if (!iterator.hasNext()) return "()";
+        StringBuilder builder = new StringBuilder("(");
+        while (iterator.hasNext()) {
+            builder.append(iterator.nextLong());
+            if (iterator.hasNext()) {
+                builder.append(',').append(' ');
+            }
+        }
+        builder.append(')');
+        return builder.toString();
+    }
+}
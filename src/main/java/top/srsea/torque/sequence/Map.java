@@ -50,4 +50,39 @@ public class Map<T, U> extends Sequence<U> {
             }
         };
     }
+
+    @Override
+    protected boolean consume(final Sink<? super U> sink) {
+        return sequence.consume(new Sink<T>() {
+            @Override
+            public boolean accept(T elem) {
+                return sink.accept(transform.invoke(elem));
+            }
+        });
+    }
+
+    @Override
+    protected boolean consumeBlocks(final BlockSink<? super U> sink) {
+        final Object[] block = new Object[BLOCK_SIZE];
+        return sequence.consumeBlocks(new BlockSink<T>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public boolean accept(Object[] elems, int from, int to) {
+                for (int i = from; i < to; ++i) {
+                    block[i - from] = transform.invoke((T) elems[i]);
+                }
+                return sink.accept(block, 0, to - from);
+            }
+        });
+    }
+
+    @Override
+    public int exactSize() {
+        return sequence.exactSize();
+    }
+
+    @Override
+    public int estimatedSize() {
+        return sequence.estimatedSize();
+    }
 }
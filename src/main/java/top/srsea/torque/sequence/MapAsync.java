@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package top.srsea.torque.sequence;
+
+import top.srsea.torque.common.ObjectHelper;
+import top.srsea.torque.common.Result;
+import top.srsea.torque.function.Function;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Transforms the elements on an executor, with at most maxInFlight transforms submitted and not yet returned.
+ * <p>
+ * The source is read on the iterating thread, only as far as needed to keep the executor busy.
+ * Each result is Success(value) or Failure(error) of its transform, a null value is a failure.
+ * Results are returned in source order, or as they complete when unordered.
+ * Transforms already submitted still run if the iteration is abandoned.
+ *
+ * @param <T> type of source element
+ * @param <U> type of result value
+ */
+public class MapAsync<T, U> extends Sequence<Result<U>> {
+    private final Sequence<T> sequence;
+    private final Function<? super T, ? extends U> transform;
+    private final Executor executor;
+    private final int maxInFlight;
+    private final boolean ordered;
+
+    public MapAsync(Sequence<T> sequence, Function<? super T, ? extends U> transform,
+                    Executor executor, int maxInFlight, boolean ordered) {
+        ObjectHelper.verifyPositive(maxInFlight, "max in flight");
+        this.sequence = sequence;
+        this.transform = transform;
+        this.executor = executor;
+        this.maxInFlight = maxInFlight;
+        this.ordered = ordered;
+    }
+
+    @Override
+    public Iterator<Result<U>> iterator() {
+        return ordered ? ordered() : unordered();
+    }
+
+    private Iterator<Result<U>> ordered() {
+        return new AsyncIterator() {
+            final Queue<Future<Result<U>>> pending = new ArrayDeque<>(maxInFlight);
+
+            @Override
+            int inFlight() {
+                return pending.size();
+            }
+
+            @Override
+            void submit(Callable<Result<U>> task) {
+                FutureTask<Result<U>> future = new FutureTask<>(task);
+                executor.execute(future);
+                pending.add(future);
+            }
+
+            @Override
+            Future<Result<U>> take() {
+                return pending.remove();
+            }
+        };
+    }
+
+    private Iterator<Result<U>> unordered() {
+        return new AsyncIterator() {
+            final CompletionService<Result<U>> completion = new ExecutorCompletionService<>(executor);
+            int inFlight;
+
+            @Override
+            int inFlight() {
+                return inFlight;
+            }
+
+            @Override
+            void submit(Callable<Result<U>> task) {
+                completion.submit(task);
+                ++inFlight;
+            }
+
+            @Override
+            Future<Result<U>> take() throws InterruptedException {
+                Future<Result<U>> future = completion.take();
+                --inFlight;
+                return future;
+            }
+        };
+    }
+
+    private abstract class AsyncIterator implements Iterator<Result<U>> {
+        final Iterator<T> iterator = sequence.iterator();
+
+        abstract int inFlight();
+
+        abstract void submit(Callable<Result<U>> task);
+
+        abstract Future<Result<U>> take() throws InterruptedException;
+
+        @Override
+        public boolean hasNext() {
+            while (inFlight() < maxInFlight && iterator.hasNext()) {
+                final T elem = iterator.next();
+                submit(new Callable<Result<U>>() {
+                    @Override
+                    public Result<U> call() {
+                        return Result.from(new Callable<U>() {
+                            @Override
+                            public U call() {
+                                return transform.invoke(elem);
+                            }
+                        });
+                    }
+                });
+            }
+            return inFlight() > 0;
+        }
+
+        @Override
+        public Result<U> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            try {
+                return take().get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Result.failure(e);
+            } catch (ExecutionException e) {
+                return Result.failure(e.getCause());
+            }
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
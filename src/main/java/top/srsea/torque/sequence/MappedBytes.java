@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package top.srsea.torque.sequence;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.NoSuchElementException;
+
+/**
+ * The bytes of a file, read through memory mapped windows, so files of any size can be read.
+ */
+public class MappedBytes extends ByteSequence {
+    private static final int WINDOW_SIZE = 1 << 26;
+
+    private final Path path;
+    private final long size;
+
+    public MappedBytes(Path path) {
+        this.path = path;
+        this.size = MappedFile.size(path);
+    }
+
+    @Override
+    public ByteIterator iterator() {
+        return new ByteIterator() {
+            ByteBuffer window = ByteBuffer.allocate(0);
+            long position;
+
+            @Override
+            public boolean hasNext() {
+                if (window.hasRemaining()) {
+                    return true;
+                }
+                if (position >= size) {
+                    return false;
+                }
+                window = MappedFile.map(path, position, Math.min(WINDOW_SIZE, size - position));
+                position += window.limit();
+                return true;
+            }
+
+            @Override
+            public byte nextByte() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return window.get();
+            }
+
+            @Override
+            public int read(ByteBuffer dst) {
+                return hasNext() ? ByteBufferSequence.transfer(window, dst) : -1;
+            }
+        };
+    }
+
+    @Override
+    public long count() {
+        return size;
+    }
+}
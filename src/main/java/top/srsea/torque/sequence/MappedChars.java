@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package top.srsea.torque.sequence;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A char sequence over encoded bytes, decoded only when needed.
+ * <p>
+ * Bytes that decode one to one, latin-1 or pure ascii in an ascii compatible charset, are read
+ * directly as chars; other bytes are decoded once, on the first access.
+ * <p>
+ * Equal to another MappedChars holding the same chars, whatever the charset, with the hash code
+ * a String of them would have, so lines can be grouped and deduplicated as they are. It is never
+ * equal to a String, compare with {@link String#contentEquals(CharSequence)} instead.
+ */
+public class MappedChars implements CharSequence {
+    private final ByteBuffer bytes;
+    private final Charset charset;
+    private boolean direct;
+    private CharBuffer decoded;
+    private int hash;
+
+    public MappedChars(ByteBuffer bytes, Charset charset) {
+        this.bytes = bytes;
+        this.charset = charset;
+    }
+
+    private MappedChars(ByteBuffer bytes, Charset charset, boolean direct) {
+        this(bytes, charset);
+        this.direct = direct;
+    }
+
+    @Override
+    public int length() {
+        return resolve() ? bytes.remaining() : decoded.length();
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (resolve()) {
+            return (char) (bytes.get(bytes.position() + index) & 0xff);
+        }
+        return decoded.charAt(index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (resolve()) {
+            if (start < 0 || end > bytes.remaining() || start > end) {
+                throw new IndexOutOfBoundsException("start: " + start + ", end: " + end + ", length: " + bytes.remaining());
+            }
+            ByteBuffer slice = bytes.duplicate();
+            ((Buffer) slice).position(bytes.position() + start);
+            ((Buffer) slice).limit(bytes.position() + end);
+            return new MappedChars(slice.slice(), charset, true);
+        }
+        return decoded.subSequence(start, end);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof MappedChars)) return false;
+        MappedChars other = (MappedChars) o;
+        int length = length();
+        if (length != other.length()) return false;
+        for (int i = 0; i < length; ++i) {
+            if (charAt(i) != other.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = hash;
+        if (result == 0) {
+            for (int i = 0, length = length(); i < length; ++i) {
+                result = 31 * result + charAt(i);
+            }
+            hash = result;
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        if (resolve()) {
+            byte[] array = new byte[bytes.remaining()];
+            bytes.duplicate().get(array);
+            return new String(array, StandardCharsets.ISO_8859_1);
+        }
+        return decoded.toString();
+    }
+
+    /**
+     * Returns whether the bytes are read directly, decoding them otherwise.
+     */
+    private boolean resolve() {
+        if (direct || decoded != null) {
+            return direct;
+        }
+        if (charset.equals(StandardCharsets.ISO_8859_1) || isAscii() && isAsciiCompatible()) {
+            return direct = true;
+        }
+        decoded = charset.decode(bytes.duplicate());
+        return false;
+    }
+
+    private boolean isAscii() {
+        for (int i = bytes.position(), end = bytes.limit(); i < end; ++i) {
+            if (bytes.get(i) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isAsciiCompatible() {
+        return charset.equals(StandardCharsets.UTF_8) || charset.equals(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package top.srsea.torque.sequence;
+
+import top.srsea.torque.common.ObjectHelper;
+import top.srsea.torque.function.Function;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Records of a file separated by a delimiter byte, read through memory mapped windows.
+ * <p>
+ * Each record is a read-only slice of the mapping, converted by the decoder, so no bytes are copied.
+ * The file is mapped a window at a time, a window is widened when a record does not fit,
+ * so files of any size can be read, but a single record is limited to 2 GB.
+ * A delimiter ends a record, so a trailing delimiter does not produce an empty record.
+ * <p>
+ * The file can be split into byte ranges on record boundaries, which {@link Parallel} scans independently.
+ *
+ * @param <T> type of element
+ */
+public class MappedFile<T> extends Sequence<T> {
+    private static final int WINDOW_SIZE = 1 << 26;
+    private static final int SCAN_SIZE = 1 << 16;
+
+    private final Path path;
+    private final byte delimiter;
+    private final Function<? super ByteBuffer, ? extends T> decoder;
+    private final long begin, end;
+    private final int windowSize;
+
+    /**
+     * @param decoder converts each record, called with a read-only buffer of the record bytes
+     */
+    public MappedFile(Path path, byte delimiter, Function<? super ByteBuffer, ? extends T> decoder) {
+        this(path, delimiter, decoder, 0, size(path), WINDOW_SIZE);
+    }
+
+    MappedFile(Path path, byte delimiter, Function<? super ByteBuffer, ? extends T> decoder,
+               long begin, long end, int windowSize) {
+        ObjectHelper.verifyPositive(windowSize, "window size");
+        this.path = path;
+        this.delimiter = delimiter;
+        this.decoder = decoder;
+        this.begin = begin;
+        this.end = end;
+        this.windowSize = windowSize;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            ByteBuffer window;
+            long windowStart;
+            long position = begin;
+
+            @Override
+            public boolean hasNext() {
+                return position < end;
+            }
+
+            @Override
+            public T next() {
+                if (position >= end) {
+                    throw new NoSuchElementException();
+                }
+                if (window == null || position >= windowStart + window.limit()) {
+                    map(position, windowSize);
+                }
+                int from = (int) (position - windowStart);
+                int cursor = from;
+                while (true) {
+                    int limit = window.limit();
+                    while (cursor < limit && window.get(cursor) != delimiter) {
+                        ++cursor;
+                    }
+                    if (cursor < limit || windowStart + limit == end) {
+                        break;
+                    }
+                    int scanned = cursor - from;
+                    if (scanned == Integer.MAX_VALUE) {
+                        throw new IllegalStateException("record longer than 2 GB");
+                    }
+                    map(position, (int) Math.min(Math.max((long) scanned << 1, windowSize), Integer.MAX_VALUE));
+                    cursor = scanned;
+                    from = 0;
+                }
+                ByteBuffer record = window.duplicate();
+                ((Buffer) record).limit(cursor).position(from);
+                position = windowStart + cursor + 1;
+                return decoder.invoke(record.slice());
+            }
+
+            private void map(long start, int size) {
+                windowStart = start;
+                window = MappedFile.map(path, start, Math.min(size, end - start)).asReadOnlyBuffer();
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    /**
+     * Splits the file into at most n consecutive ranges of about the same size, each starting at a record.
+     */
+    public List<Sequence<T>> split(int n) {
+        ObjectHelper.verifyPositive(n, "n");
+        List<Sequence<T>> parts = new ArrayList<>(n);
+        long from = begin;
+        for (int i = 1; i <= n && from < end; ++i) {
+            long to = i == n ? end : recordStart(Math.max(begin + (end - begin) / n * i, from));
+            if (to > from) {
+                parts.add(new MappedFile<>(path, delimiter, decoder, from, to, windowSize));
+                from = to;
+            }
+        }
+        return parts;
+    }
+
+    /**
+     * Returns the first record start at or after the position.
+     */
+    private long recordStart(long position) {
+        if (position <= begin) {
+            return begin;
+        }
+        for (long start = position - 1; start < end; start += SCAN_SIZE) {
+            MappedByteBuffer buffer = map(path, start, Math.min(SCAN_SIZE, end - start));
+            for (int i = 0; i < buffer.limit(); ++i) {
+                if (buffer.get(i) == delimiter) {
+                    return start + i + 1;
+                }
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Maps the range of the file read-only; the mapping outlives the channel, which is closed at once.
+     */
+    static MappedByteBuffer map(Path path, long start, long size) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, start, size);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    static long size(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return channel.size();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
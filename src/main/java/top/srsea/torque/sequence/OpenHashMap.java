@@ -0,0 +1,232 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.srsea.torque.sequence;
+
+import top.srsea.torque.common.Preconditions;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A hash map using open addressing, without a node per entry. Entries are kept in insertion order.
+ * Null keys and values are permitted; removal is not supported.
+ *
+ * @param <K> type of key
+ * @param <V> type of value
+ */
+public class OpenHashMap<K, V> extends AbstractMap<K, V> {
+    private Object[] keys;
+    private Object[] values;
+    private int[] hashes;
+    private int[] table;
+    private int size;
+
+    public OpenHashMap() {
+        this(0);
+    }
+
+    public OpenHashMap(int expectedSize) {
+        Preconditions.require(expectedSize >= 0, "expectedSize < 0");
+        int capacity = Math.max(expectedSize, 8);
+        this.keys = new Object[capacity];
+        this.values = new Object[capacity];
+        this.hashes = new int[capacity];
+        this.table = new int[Hashing.tableSizeFor(expectedSize)];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return find(key) >= 0;
+    }
+
+    @Override
+    public V get(Object key) {
+        int position = find(key);
+        return position < 0 ? null : valueAt(position);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        int position = insert(key);
+        V old = valueAt(position);
+        values[position] = value;
+        return old;
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<Entry<K, V>>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new Iterator<Entry<K, V>>() {
+                    int cursor = 0;
+
+                    @Override
+                    public boolean hasNext() {
+                        return cursor < size;
+                    }
+
+                    @Override
+                    public Entry<K, V> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        return new PositionEntry(cursor++);
+                    }
+
+                    @Override
+                    public void remove() {
+                        throw new UnsupportedOperationException();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Returns the position of the key, or -1 if absent.
+     */
+    int find(Object key) {
+        int hash = Hashing.mix(Objects.hashCode(key));
+        int mask = table.length - 1;
+        for (int i = hash & mask; ; i = (i + 1) & mask) {
+            int position = table[i] - 1;
+            if (position < 0) {
+                return -1;
+            }
+            if (hashes[position] == hash && Objects.equals(keys[position], key)) {
+                return position;
+            }
+        }
+    }
+
+    /**
+     * Returns the position of the key, adding it with a null value if absent.
+     * Positions are assigned in insertion order from 0.
+     */
+    int insert(K key) {
+        int hash = Hashing.mix(Objects.hashCode(key));
+        int mask = table.length - 1;
+        for (int i = hash & mask; ; i = (i + 1) & mask) {
+            int position = table[i] - 1;
+            if (position < 0) {
+                if (size == keys.length) {
+                    int capacity = Hashing.grownCapacity(size);
+                    keys = Arrays.copyOf(keys, capacity);
+                    values = Arrays.copyOf(values, capacity);
+                    hashes = Arrays.copyOf(hashes, capacity);
+                }
+                keys[size] = key;
+                hashes[size] = hash;
+                table[i] = ++size;
+                if (Hashing.needsGrow(size, table.length)) {
+                    rehash();
+                }
+                return size - 1;
+            }
+            if (hashes[position] == hash && Objects.equals(keys[position], key)) {
+                return position;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    K keyAt(int position) {
+        return (K) keys[position];
+    }
+
+    @SuppressWarnings("unchecked")
+    V valueAt(int position) {
+        return (V) values[position];
+    }
+
+    void setValueAt(int position, V value) {
+        values[position] = value;
+    }
+
+    private void rehash() {
+        int[] table = new int[this.table.length << 1];
+        int mask = table.length - 1;
+        for (int position = 0; position < size; ++position) {
+            int i = hashes[position] & mask;
+            while (table[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            table[i] = position + 1;
+        }
+        this.table = table;
+    }
+
+    private final class PositionEntry implements Entry<K, V> {
+        private final int position;
+
+        PositionEntry(int position) {
+            this.position = position;
+        }
+
+        @Override
+        public K getKey() {
+            return keyAt(position);
+        }
+
+        @Override
+        public V getValue() {
+            return valueAt(position);
+        }
+
+        @Override
+        public V setValue(V value) {
+            V old = valueAt(position);
+            values[position] = value;
+            return old;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Entry)) {
+                return false;
+            }
+            Entry<?, ?> that = (Entry<?, ?>) obj;
+            return Objects.equals(getKey(), that.getKey()) && Objects.equals(getValue(), that.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(getKey()) ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+}
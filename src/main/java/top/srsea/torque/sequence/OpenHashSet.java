@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.srsea.torque.sequence;
+
+import top.srsea.torque.common.Preconditions;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * A hash set using open addressing, without a node per element. Elements are kept in insertion order.
+ * Null is permitted; removal is not supported.
+ *
+ * @param <T> type of element
+ */
+public class OpenHashSet<T> extends AbstractSet<T> {
+    private Object[] elems;
+    private int[] hashes;
+    private int[] table;
+    private int size;
+
+    public OpenHashSet() {
+        this(0);
+    }
+
+    public OpenHashSet(int expectedSize) {
+        Preconditions.require(expectedSize >= 0, "expectedSize < 0");
+        int capacity = Math.max(expectedSize, 8);
+        this.elems = new Object[capacity];
+        this.hashes = new int[capacity];
+        this.table = new int[Hashing.tableSizeFor(expectedSize)];
+    }
+
+    @Override
+    public boolean add(T elem) {
+        int hash = Hashing.mix(Objects.hashCode(elem));
+        int mask = table.length - 1;
+        for (int i = hash & mask; ; i = (i + 1) & mask) {
+            int position = table[i] - 1;
+            if (position < 0) {
+                if (size == elems.length) {
+                    int capacity = Hashing.grownCapacity(size);
+                    elems = Arrays.copyOf(elems, capacity);
+                    hashes = Arrays.copyOf(hashes, capacity);
+                }
+                elems[size] = elem;
+                hashes[size] = hash;
+                table[i] = ++size;
+                if (Hashing.needsGrow(size, table.length)) {
+                    rehash();
+                }
+                return true;
+            }
+            if (hashes[position] == hash && Objects.equals(elems[position], elem)) {
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public boolean contains(Object elem) {
+        int hash = Hashing.mix(Objects.hashCode(elem));
+        int mask = table.length - 1;
+        for (int i = hash & mask; ; i = (i + 1) & mask) {
+            int position = table[i] - 1;
+            if (position < 0) {
+                return false;
+            }
+            if (hashes[position] == hash && Objects.equals(elems[position], elem)) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            int cursor = 0;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < size;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return (T) elems[cursor++];
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    private void rehash() {
+        int[] table = new int[this.table.length << 1];
+        int mask = table.length - 1;
+        for (int position = 0; position < size; ++position) {
+            int i = hashes[position] & mask;
+            while (table[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            table[i] = position + 1;
+        }
+        this.table = table;
+    }
+}
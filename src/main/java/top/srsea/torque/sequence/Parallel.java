@@ -0,0 +1,342 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.srsea.torque.sequence;
+
+import top.srsea.torque.function.Consumer;
+import top.srsea.torque.function.Function;
+import top.srsea.torque.function.Function2;
+import top.srsea.torque.function.Functions;
+import top.srsea.torque.function.Predicate;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * A sequence whose stages run on an executor.
+ * <p>
+ * Indexed sources are split recursively into slices, mapped files on record boundaries,
+ * other sources are read into batches, and each part runs the stages independently.
+ * Parts are submitted as earlier ones complete, so a source read in batches is never held
+ * in memory at once. Results are combined in source order.
+ *
+ * @param <T> type of element
+ */
+public class Parallel<T> {
+    private static final int BATCH_SIZE = 1024;
+    private static final Object NONE = new Object();
+
+    private final Sequence<Object> source;
+    private final Function<Sequence<Object>, Sequence<T>> pipeline;
+    private final ExecutorService executor;
+
+    public Parallel(Sequence<T> sequence) {
+        this(sequence, DefaultExecutor.INSTANCE);
+    }
+
+    @SuppressWarnings("unchecked")
+    public Parallel(Sequence<T> sequence, ExecutorService executor) {
+        this((Sequence<Object>) sequence, (Function<Sequence<Object>, Sequence<T>>) (Function<?, ?>) Functions.identity(), executor);
+    }
+
+    private Parallel(Sequence<Object> source, Function<Sequence<Object>, Sequence<T>> pipeline, ExecutorService executor) {
+        this.source = source;
+        this.pipeline = pipeline;
+        this.executor = executor;
+    }
+
+    public <U> Parallel<U> map(final Function<? super T, ? extends U> transform) {
+        return then(new Function<Sequence<T>, Sequence<U>>() {
+            @Override
+            public Sequence<U> invoke(Sequence<T> part) {
+                return part.map(transform);
+            }
+        });
+    }
+
+    public <U> Parallel<U> flatMap(final Function<? super T, ? extends Iterable<? extends U>> transform) {
+        return then(new Function<Sequence<T>, Sequence<U>>() {
+            @Override
+            public Sequence<U> invoke(Sequence<T> part) {
+                return part.flatMap(transform);
+            }
+        });
+    }
+
+    /**
+     * @deprecated use {@link #where(Predicate)}, which tests without boxing
+     */
+    @Deprecated
+    public Parallel<T> filter(Function<? super T, Boolean> pred) {
+        return where(Functions.asPredicate(pred));
+    }
+
+    public Parallel<T> where(final Predicate<? super T> pred) {
+        return then(new Function<Sequence<T>, Sequence<T>>() {
+            @Override
+            public Sequence<T> invoke(Sequence<T> part) {
+                return part.where(pred);
+            }
+        });
+    }
+
+    public Parallel<T> onEach(final Consumer<? super T> action) {
+        return then(new Function<Sequence<T>, Sequence<T>>() {
+            @Override
+            public Sequence<T> invoke(Sequence<T> part) {
+                return part.onEach(action);
+            }
+        });
+    }
+
+    public int count() {
+        int count = 0;
+        for (int it : execute(new Function<Sequence<T>, Integer>() {
+            @Override
+            public Integer invoke(Sequence<T> part) {
+                return part.count();
+            }
+        })) {
+            count += it;
+        }
+        return count;
+    }
+
+    /**
+     * @deprecated use {@link #countWhere(Predicate)}, which tests without boxing
+     */
+    @Deprecated
+    public int count(Function<? super T, Boolean> pred) {
+        return countWhere(Functions.asPredicate(pred));
+    }
+
+    public int countWhere(Predicate<? super T> pred) {
+        return where(pred).count();
+    }
+
+    /**
+     * Folds each part from init with op, then combines the partial results in order.
+     * The init must be an identity of combiner, and combiner must be associative.
+     */
+    public <R> R fold(final R init, final Function2<? super R, ? super T, ? extends R> op,
+                      Function2<? super R, ? super R, ? extends R> combiner) {
+        List<R> results = execute(new Function<Sequence<T>, R>() {
+            @Override
+            public R invoke(Sequence<T> part) {
+                return part.fold(init, op);
+            }
+        });
+        if (results.isEmpty()) {
+            return init;
+        }
+        R result = results.get(0);
+        for (int i = 1; i < results.size(); ++i) {
+            result = combiner.invoke(result, results.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Reduces the elements with an associative op.
+     *
+     * @throws UnsupportedOperationException if empty
+     */
+    @SuppressWarnings("unchecked")
+    public T reduce(final Function2<? super T, ? super T, ? extends T> op) {
+        final Function2<Object, T, Object> partial = new Function2<Object, T, Object>() {
+            @Override
+            public Object invoke(Object result, T elem) {
+                return result == NONE ? elem : op.invoke((T) result, elem);
+            }
+        };
+        Object result = NONE;
+        for (Object it : execute(new Function<Sequence<T>, Object>() {
+            @Override
+            public Object invoke(Sequence<T> part) {
+                return part.fold(NONE, partial);
+            }
+        })) {
+            if (it != NONE) {
+                result = result == NONE ? it : op.invoke((T) result, (T) it);
+            }
+        }
+        if (result == NONE) {
+            throw new UnsupportedOperationException();
+        }
+        return (T) result;
+    }
+
+    /**
+     * Performs the action for each element, concurrently and in no particular order.
+     */
+    public void foreach(final Consumer<? super T> action) {
+        execute(new Function<Sequence<T>, Void>() {
+            @Override
+            public Void invoke(Sequence<T> part) {
+                part.foreach(action);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Adds the elements to the collection in source order.
+     */
+    public <C extends Collection<? super T>> C into(C collection) {
+        for (List<T> it : execute(new Function<Sequence<T>, List<T>>() {
+            @Override
+            public List<T> invoke(Sequence<T> part) {
+                return part.into(new ArrayList<T>());
+            }
+        })) {
+            collection.addAll(it);
+        }
+        return collection;
+    }
+
+    /**
+     * Returns a sequence that runs the stages on the calling thread.
+     */
+    public Sequence<T> sequential() {
+        return pipeline.invoke(source);
+    }
+
+    private <U> Parallel<U> then(final Function<Sequence<T>, Sequence<U>> stage) {
+        return new Parallel<>(source, new Function<Sequence<Object>, Sequence<U>>() {
+            @Override
+            public Sequence<U> invoke(Sequence<Object> part) {
+                return stage.invoke(pipeline.invoke(part));
+            }
+        }, executor);
+    }
+
+    /**
+     * Runs the task on each part and returns the results in source order, with at most
+     * twice the parallelism of parts submitted and not yet awaited.
+     */
+    private <R> List<R> execute(final Function<Sequence<T>, R> task) {
+        int maxInFlight = parallelism() << 1;
+        Queue<Future<R>> futures = new ArrayDeque<>(maxInFlight);
+        List<R> results = new ArrayList<>();
+        try {
+            for (Iterator<Sequence<Object>> parts = parts(); parts.hasNext(); ) {
+                if (futures.size() == maxInFlight) {
+                    results.add(await(futures.poll()));
+                }
+                final Sequence<Object> part = parts.next();
+                futures.add(executor.submit(new Callable<R>() {
+                    @Override
+                    public R call() {
+                        return task.invoke(pipeline.invoke(part));
+                    }
+                }));
+            }
+            while (!futures.isEmpty()) {
+                results.add(await(futures.poll()));
+            }
+            return results;
+        } catch (RuntimeException | Error e) {
+            for (Future<R> future : futures) {
+                future.cancel(true);
+            }
+            throw e;
+        }
+    }
+
+    private Iterator<Sequence<Object>> parts() {
+        if (source instanceof IndexedSequence) {
+            IndexedSequence<Object> indexed = (IndexedSequence<Object>) source;
+            List<Sequence<Object>> parts = new ArrayList<>();
+            split(indexed, Math.max(indexed.size() / (parallelism() << 2), 1), parts);
+            return parts.iterator();
+        }
+        if (source instanceof MappedFile) {
+            return ((MappedFile<Object>) source).split(parallelism() << 2).iterator();
+        }
+        final Iterator<Object> iterator = source.iterator();
+        return new Iterator<Sequence<Object>>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Sequence<Object> next() {
+                Object[] batch = new Object[BATCH_SIZE];
+                int size = 0;
+                while (size < BATCH_SIZE && iterator.hasNext()) {
+                    batch[size++] = iterator.next();
+                }
+                return new Array<>(size == BATCH_SIZE ? batch : Arrays.copyOf(batch, size));
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    private int parallelism() {
+        if (executor instanceof ForkJoinPool) {
+            return ((ForkJoinPool) executor).getParallelism();
+        }
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    private static void split(IndexedSequence<Object> sequence, int threshold, List<Sequence<Object>> parts) {
+        int size = sequence.size();
+        if (size <= threshold) {
+            parts.add(sequence);
+            return;
+        }
+        int mid = size >>> 1;
+        split(sequence.slice(0, mid), threshold, parts);
+        split(sequence.slice(mid, size), threshold, parts);
+    }
+
+    private static <R> R await(Future<R> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RuntimeException(cause);
+        }
+    }
+
+    private static final class DefaultExecutor {
+        static final ExecutorService INSTANCE = new ForkJoinPool();
+    }
+}
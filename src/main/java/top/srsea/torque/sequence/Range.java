@@ -57,4 +57,17 @@ public class Range<T> extends Sequence<T> {
             }
         };
     }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected boolean consume(Sink<? super T> sink) {
+        boolean comparable = begin instanceof Comparable;
+        for (T current = begin; comparable ? ((Comparable<T>) current).compareTo(end) < 0 : !current.equals(end);
+             current = successor.invoke(current)) {
+            if (!sink.accept(current)) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
@@ -44,4 +44,10 @@ public class Repeat<T> extends Sequence<T> {
             }
         };
     }
+
+    @Override
+    protected boolean consume(Sink<? super T> sink) {
+        while (sink.accept(elem)) ;
+        return false;
+    }
 }
@@ -17,17 +17,46 @@
 package top.srsea.torque.sequence;
 
 import top.srsea.torque.common.Option;
+import top.srsea.torque.common.Preconditions;
+import top.srsea.torque.common.Ref;
+import top.srsea.torque.common.Result;
+import top.srsea.torque.cons.Vector;
 import top.srsea.torque.function.Consumer;
 import top.srsea.torque.function.Function;
 import top.srsea.torque.function.Function2;
+import top.srsea.torque.function.Functions;
+import top.srsea.torque.function.Predicate;
 import top.srsea.torque.function.Supplier;
+import top.srsea.torque.function.ToDoubleFunction;
+import top.srsea.torque.function.ToIntFunction;
+import top.srsea.torque.function.ToLongFunction;
 
 import javax.annotation.Nullable;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 
 public abstract class Sequence<T> implements Iterable<T> {
+    /**
+     * Maximum number of elements in a block pushed by {@link #consumeBlocks(BlockSink)}.
+     */
+    protected static final int BLOCK_SIZE = 256;
+    /**
+     * Maximum capacity {@link #join(CharSequence)} presizes its builder to.
+     */
+    private static final int MAX_ESTIMATED_LENGTH = 1 << 16;
+
 
     @SafeVarargs
     public static <T> Sequence<T> of(T... elems) {
@@ -48,6 +77,12 @@ public abstract class Sequence<T> implements Iterable<T> {
     }
 
     public static <T> Sequence<T> from(Iterable<T> iterable) {
+        if (iterable instanceof Vector) {
+            return ((Vector<T>) iterable).toSequence();
+        }
+        if (iterable instanceof List && iterable instanceof RandomAccess) {
+            return new FromList<>((List<T>) iterable);
+        }
         return new FromIterable<>(iterable);
     }
 
@@ -91,37 +126,66 @@ public abstract class Sequence<T> implements Iterable<T> {
         return new FromCharSequence(s);
     }
 
+    /**
+     * Returns the lines of the file, read through memory mapped windows, as char sequences decoded lazily.
+     * Lines end with a line feed, a preceding carriage return is dropped.
+     *
+     * @param charset an ascii compatible charset, which encodes the line feed as a single byte
+     */
+    public static Sequence<CharSequence> lines(Path path, final Charset charset) {
+        Preconditions.require(Arrays.equals("\n".getBytes(charset), new byte[]{'\n'}), "charset is not ascii compatible");
+        return new MappedFile<>(path, (byte) '\n', new Function<ByteBuffer, CharSequence>() {
+            @Override
+            public CharSequence invoke(ByteBuffer line) {
+                int end = line.limit();
+                if (end > 0 && line.get(end - 1) == '\r') {
+                    ((Buffer) line).limit(end - 1);
+                }
+                return new MappedChars(line, charset);
+            }
+        });
+    }
+
+    /**
+     * Returns the records of the file ended by the delimiter, read through memory mapped windows,
+     * as read-only buffers over the mapping.
+     */
+    public static Sequence<ByteBuffer> records(Path path, byte delimiter) {
+        return new MappedFile<>(path, delimiter, Functions.<ByteBuffer>identity());
+    }
+
     public static <T> Sequence<T> range(T begin, T end, Function<? super T, ? extends T> successor) {
         return new Range<>(begin, end, successor);
     }
 
-    public static Sequence<Integer> range(int begin, int end, final int step) {
-        return new Range<>(begin, end, new Function<Integer, Integer>() {
-            @Override
-            public Integer invoke(Integer val) {
-                return val + step;
-            }
-        });
+    public static Sequence<Integer> range(int begin, int end, int step) {
+        return IntSequence.range(begin, end, step).boxed();
     }
 
     public static Sequence<Integer> range(int begin, int end) {
         return range(begin, end, 1);
     }
 
-    public static Sequence<Long> range(long begin, long end, final long step) {
-        return new Range<>(begin, end, new Function<Long, Long>() {
-            @Override
-            public Long invoke(Long val) {
-                return val + step;
-            }
-        });
+    public static Sequence<Long> range(long begin, long end, long step) {
+        return LongSequence.range(begin, end, step).boxed();
     }
 
     public static Sequence<Long> range(long begin, long end) {
         return range(begin, end, 1);
     }
 
+    /**
+     * @deprecated use {@link #generateWhile(Supplier, Predicate, Function)}, which tests without boxing
+     */
+    @Deprecated
     public static <T> Sequence<T> generate(Supplier<? extends T> init, Function<? super T, Boolean> cond, Function<? super T, ? extends T> iterate) {
+        return generateWhile(init, Functions.<T>asPredicate(cond), iterate);
+    }
+
+    /**
+     * Returns init, then iterate applied to the previous element, for as long as cond holds.
+     */
+    public static <T> Sequence<T> generateWhile(Supplier<? extends T> init, Predicate<? super T> cond, Function<? super T, ? extends T> iterate) {
         return new Generate<>(init, cond, iterate);
     }
 
@@ -141,85 +205,280 @@ public abstract class Sequence<T> implements Iterable<T> {
         return new Repeat<>(elem);
     }
 
-    public int count() {
-        int count = 0;
-        for (T ignored : this) {
-            ++count;
+    static <T> boolean consume(Iterable<? extends T> iterable, Sink<? super T> sink) {
+        if (iterable instanceof Sequence) {
+            return ((Sequence<? extends T>) iterable).consume(sink);
         }
-        return count;
+        for (T it : iterable) {
+            if (!sink.accept(it)) {
+                return false;
+            }
+        }
+        return true;
     }
 
-    public int count(Function<? super T, Boolean> pred) {
-        int count = 0;
+    static int exactSize(Iterable<?> iterable) {
+        if (iterable instanceof Sequence) {
+            return ((Sequence<?>) iterable).exactSize();
+        }
+        if (iterable instanceof Collection) {
+            return ((Collection<?>) iterable).size();
+        }
+        return -1;
+    }
+
+    static int estimatedSize(Iterable<?> iterable) {
+        if (iterable instanceof Sequence) {
+            return ((Sequence<?>) iterable).estimatedSize();
+        }
+        return exactSize(iterable);
+    }
+
+    protected boolean consume(Sink<? super T> sink) {
         for (T it : this) {
-            if (pred.invoke(it)) {
-                ++count;
+            if (!sink.accept(it)) {
+                return false;
             }
         }
-        return count;
+        return true;
+    }
+
+    /**
+     * Pushes the elements to the sink a block at a time, returns false if stopped by the sink.
+     * <p>
+     * By default the elements pushed by {@link #consume(Sink)} are gathered into a buffer.
+     * Array sources, map, filter, take and drop override it to work on whole blocks.
+     */
+    protected boolean consumeBlocks(final BlockSink<? super T> sink) {
+        final Object[] block = new Object[BLOCK_SIZE];
+        final int[] size = {0};
+        if (!consume(new Sink<T>() {
+            @Override
+            public boolean accept(T elem) {
+                block[size[0]++] = elem;
+                if (size[0] < BLOCK_SIZE) {
+                    return true;
+                }
+                size[0] = 0;
+                return sink.accept(block, 0, BLOCK_SIZE);
+            }
+        })) {
+            return false;
+        }
+        return size[0] == 0 || sink.accept(block, 0, size[0]);
     }
 
-    public <R> R fold(R init, Function2<? super R, ? super T, ? extends R> op) {
-        for (T it : this) {
-            init = op.invoke(init, it);
+    /**
+     * Returns the number of elements if it is known without traversal, otherwise -1.
+     */
+    public int exactSize() {
+        return -1;
+    }
+
+    /**
+     * Returns an upper bound of the number of elements if it is known without traversal, otherwise -1.
+     */
+    public int estimatedSize() {
+        return exactSize();
+    }
+
+    public int count() {
+        int size = exactSize();
+        if (size >= 0) {
+            return size;
         }
-        return init;
+        final int[] count = {0};
+        consume(new Sink<T>() {
+            @Override
+            public boolean accept(T elem) {
+                ++count[0];
+                return true;
+            }
+        });
+        return count[0];
+    }
+
+    /**
+     * @deprecated use {@link #countWhere(Predicate)}, which tests without boxing
+     */
+    @Deprecated
+    public int count(Function<? super T, Boolean> pred) {
+        return countWhere(Functions.asPredicate(pred));
+    }
+
+    public int countWhere(final Predicate<? super T> pred) {
+        final int[] count = {0};
+        consume(new Sink<T>() {
+            @Override
+            public boolean accept(T elem) {
+                if (pred.invoke(elem)) {
+                    ++count[0];
+                }
+                return true;
+            }
+        });
+        return count[0];
     }
 
-    public T reduce(Function2<? super T, ? super T, ? extends T> op) {
-        Iterator<T> iterator = iterator();
-        if (!iterator.hasNext()) {
+    public <R> R fold(R init, final Function2<? super R, ? super T, ? extends R> op) {
+        final Ref<R> result = Ref.of(init);
+        consume(new Sink<T>() {
+            @Override
+            public boolean accept(T elem) {
+                result.set(op.invoke(result.get(), elem));
+                return true;
+            }
+        });
+        return result.get();
+    }
+
+    public T reduce(final Function2<? super T, ? super T, ? extends T> op) {
+        final Ref<T> result = Ref.ofNull();
+        final boolean[] empty = {true};
+        consume(new Sink<T>() {
+            @Override
+            public boolean accept(T elem) {
+                if (empty[0]) {
+                    empty[0] = false;
+                    result.set(elem);
+                } else {
+                    result.set(op.invoke(result.get(), elem));
+                }
+                return true;
+            }
+        });
+        if (empty[0]) {
             throw new UnsupportedOperationException();
         }
-        T init = iterator.next();
-        while (iterator.hasNext()) {
-            init = op.invoke(init, iterator.next());
-        }
-        return init;
+        return result.get();
     }
 
     public Option<T> first() {
-        for (T it : this) {
-            return Option.some(it);
-        }
-        return Option.none();
+        final Ref<T> first = Ref.ofNull();
+        boolean empty = consume(new Sink<T>() {
+            @Override
+            public boolean accept(T elem) {
+                first.set(elem);
+                return false;
+            }
+        });
+        return empty ? Option.<T>none() : Option.some(first.get());
     }
 
     public Option<T> last() {
-        Iterator<T> iterator = iterator();
-        if (!iterator.hasNext()) {
-            return Option.none();
-        }
-        T last = iterator.next();
-        while (iterator.hasNext()) {
-            last = iterator.next();
-        }
-        return Option.some(last);
+        final Ref<T> last = Ref.ofNull();
+        final boolean[] empty = {true};
+        consume(new Sink<T>() {
+            @Override
+            public boolean accept(T elem) {
+                empty[0] = false;
+                last.set(elem);
+                return true;
+            }
+        });
+        return empty[0] ? Option.<T>none() : Option.some(last.get());
     }
 
-    public Option<T> nth(int index) {
+    public Option<T> nth(final int index) {
         if (index < 0) return Option.none();
-        Iterator<T> iterator = iterator();
-        for (int i = index; i > 0; --i, iterator.next()) {
-            if (!iterator.hasNext()) {
-                return Option.none();
+        final Ref<T> nth = Ref.ofNull();
+        boolean exhausted = consume(new Sink<T>() {
+            int left = index;
+
+            @Override
+            public boolean accept(T elem) {
+                if (left-- > 0) {
+                    return true;
+                }
+                nth.set(elem);
+                return false;
             }
-        }
-        return iterator.hasNext() ? Option.some(iterator.next()) : Option.<T>none();
+        });
+        return exhausted ? Option.<T>none() : Option.some(nth.get());
+    }
+
+    /**
+     * Returns a sequence whose terminal operations push the elements through
+     * the stages in blocks of up to {@link #BLOCK_SIZE}, instead of one at a time.
+     */
+    public Sequence<T> batched() {
+        return new Batched<>(this);
+    }
+
+    /**
+     * Returns a sequence that evaluates this one at most once and replays the elements
+     * to later traversals. It is safe to traverse concurrently.
+     */
+    public Sequence<T> cached() {
+        return new Cached<>(this);
+    }
+
+    /**
+     * Like {@link #cached()}, but keeps at most maxSize elements;
+     * traversals past them evaluate this sequence again.
+     */
+    public Sequence<T> cached(int maxSize) {
+        return new Cached<>(this, maxSize);
+    }
+
+    public Parallel<T> parallel() {
+        return new Parallel<>(this);
+    }
+
+    public Parallel<T> parallel(ExecutorService executor) {
+        return new Parallel<>(this, executor);
     }
 
     public <U> Sequence<U> map(Function<? super T, ? extends U> transform) {
         return new Map<>(this, transform);
     }
 
+    /**
+     * Transforms the elements on the executor, at most maxInFlight at a time, with results in source order.
+     * A transform that throws or returns null yields a failure.
+     */
+    public <U> Sequence<Result<U>> mapAsync(Function<? super T, ? extends U> transform, Executor executor, int maxInFlight) {
+        return new MapAsync<>(this, transform, executor, maxInFlight, true);
+    }
+
+    /**
+     * Like {@link #mapAsync(Function, Executor, int)}, but results are returned as they complete.
+     */
+    public <U> Sequence<Result<U>> mapAsyncUnordered(Function<? super T, ? extends U> transform, Executor executor, int maxInFlight) {
+        return new MapAsync<>(this, transform, executor, maxInFlight, false);
+    }
+
     public <U> Sequence<U> flatMap(Function<? super T, ? extends Iterable<? extends U>> transform) {
         return new FlatMap<>(this, transform);
     }
 
+    /**
+     * @deprecated use {@link #where(Predicate)}, which tests without boxing
+     */
+    @Deprecated
     public Sequence<T> filter(Function<? super T, Boolean> pred) {
+        return where(Functions.asPredicate(pred));
+    }
+
+    /**
+     * Returns the elements for which pred holds.
+     */
+    public Sequence<T> where(Predicate<? super T> pred) {
         return new Filter<>(this, pred);
     }
 
+    public IntSequence mapToInt(ToIntFunction<? super T> transform) {
+        return new MapToInt<>(this, transform);
+    }
+
+    public LongSequence mapToLong(ToLongFunction<? super T> transform) {
+        return new MapToLong<>(this, transform);
+    }
+
+    public DoubleSequence mapToDouble(ToDoubleFunction<? super T> transform) {
+        return new MapToDouble<>(this, transform);
+    }
+
     public Sequence<T> take(int n) {
         if (n == 0) {
             return empty();
@@ -242,8 +501,149 @@ public abstract class Sequence<T> implements Iterable<T> {
         return new Concat<>(this, other);
     }
 
+    /**
+     * Returns the elements in lists of n, the last one may be shorter.
+     * Indexed sequences over stored elements return read-only views, others copy the elements into new lists.
+     */
     public Sequence<List<T>> chunk(int n) {
-        return new Chunk<>(this, n);
+        return new Chunk<>(this, n, false);
+    }
+
+    /**
+     * Like {@link #chunk(int)}, but every chunk is the same list, cleared and refilled.
+     * A chunk is only valid until the next one is requested.
+     */
+    public Sequence<List<T>> chunkReusing(int n) {
+        return new Chunk<>(this, n, true);
+    }
+
+    /**
+     * Returns windows of size elements, starting every step elements; a trailing partial window is dropped.
+     * Indexed sequences over stored elements return read-only views of their slices, others return
+     * one read-only view over a ring buffer, valid only until the next window is requested.
+     */
+    public Sequence<List<T>> windowed(int size, int step) {
+        return new Window<>(this, size, step);
+    }
+
+    /**
+     * Returns the elements not seen before, in order.
+     */
+    public Sequence<T> distinct() {
+        return new Distinct<>(this, Functions.<T>identity());
+    }
+
+    /**
+     * Returns the elements whose keys are not seen before, in order.
+     */
+    public <K> Sequence<T> distinctBy(Function<? super T, ? extends K> key) {
+        return new Distinct<>(this, key);
+    }
+
+    /**
+     * Groups the elements by key, keys and elements in encounter order.
+     */
+    public <K> java.util.Map<K, List<T>> groupBy(final Function<? super T, ? extends K> key) {
+        final OpenHashMap<K, List<T>> groups = new OpenHashMap<>();
+        consume(new Sink<T>() {
+            @Override
+            public boolean accept(T elem) {
+                int position = groups.insert(key.invoke(elem));
+                List<T> group = groups.valueAt(position);
+                if (group == null) {
+                    group = new ArrayList<>();
+                    groups.setValueAt(position, group);
+                }
+                group.add(elem);
+                return true;
+            }
+        });
+        return groups;
+    }
+
+    /**
+     * Counts the elements by key, keys in encounter order.
+     */
+    public <K> java.util.Map<K, Integer> countBy(final Function<? super T, ? extends K> key) {
+        final OpenHashMap<K, Integer> counts = new OpenHashMap<>();
+        final Ref<int[]> tally = Ref.of(new int[16]);
+        consume(new Sink<T>() {
+            @Override
+            public boolean accept(T elem) {
+                int position = counts.insert(key.invoke(elem));
+                int[] array = tally.get();
+                if (position == array.length) {
+                    tally.set(array = Arrays.copyOf(array, array.length << 1));
+                }
+                ++array[position];
+                return true;
+            }
+        });
+        int[] array = tally.get();
+        for (int i = 0; i < counts.size(); ++i) {
+            counts.setValueAt(i, array[i]);
+        }
+        return counts;
+    }
+
+    /**
+     * Maps each element to a key and a value, later values replace earlier ones with an equal key.
+     * Keys are in encounter order.
+     */
+    public <K, V> java.util.Map<K, V> toMap(final Function<? super T, ? extends K> key,
+                                            final Function<? super T, ? extends V> value) {
+        final OpenHashMap<K, V> map = new OpenHashMap<>(Hashing.presize(estimatedSize()));
+        consume(new Sink<T>() {
+            @Override
+            public boolean accept(T elem) {
+                map.put(key.invoke(elem), value.invoke(elem));
+                return true;
+            }
+        });
+        return map;
+    }
+
+    /**
+     * Returns the elements sorted by the comparator, stable.
+     */
+    public Sequence<T> sorted(Comparator<? super T> comparator) {
+        return new Sorted<>(this, comparator);
+    }
+
+    /**
+     * Returns the elements sorted by the natural order of their keys, stable.
+     */
+    public <K extends Comparable<? super K>> Sequence<T> sortedBy(final Function<? super T, ? extends K> key) {
+        return sorted(new Comparator<T>() {
+            @Override
+            public int compare(T x, T y) {
+                return key.invoke(x).compareTo(key.invoke(y));
+            }
+        });
+    }
+
+    /**
+     * Returns the elements sorted by the comparator, stable, keeping at most about memoryBudget bytes
+     * of them in memory and spilling sorted runs to files in tmpDir.
+     *
+     * @see ExternalSort
+     */
+    public Sequence<T> sortedExternal(Comparator<? super T> comparator, Codec<T> codec, Path tmpDir, long memoryBudget) {
+        return new ExternalSort<>(this, comparator, codec, tmpDir, memoryBudget);
+    }
+
+    /**
+     * Returns the k greatest elements by the comparator, greatest first.
+     */
+    public Sequence<T> topK(int k, Comparator<? super T> comparator) {
+        return new TopK<>(this, k, comparator);
+    }
+
+    /**
+     * Returns the k least elements by the comparator, least first.
+     */
+    public Sequence<T> bottomK(int k, Comparator<? super T> comparator) {
+        return new TopK<>(this, k, Collections.reverseOrder(comparator));
     }
 
     public Sequence<T> onEach(final Consumer<? super T> action) {
@@ -256,30 +656,94 @@ public abstract class Sequence<T> implements Iterable<T> {
         });
     }
 
-    public void foreach(Consumer<? super T> action) {
-        for (T it : this) {
-            action.accept(it);
-        }
+    public void foreach(final Consumer<? super T> action) {
+        consume(new Sink<T>() {
+            @Override
+            public boolean accept(T elem) {
+                action.accept(elem);
+                return true;
+            }
+        });
     }
 
-    public <C extends Collection<? super T>> C into(C collection) {
-        for (T it : this) {
-            collection.add(it);
+    public <C extends Collection<? super T>> C into(final C collection) {
+        int size = exactSize();
+        if (size > 0 && collection instanceof ArrayList) {
+            ((ArrayList<?>) collection).ensureCapacity(collection.size() + size);
         }
+        consume(new Sink<T>() {
+            @Override
+            public boolean accept(T elem) {
+                collection.add(elem);
+                return true;
+            }
+        });
         return collection;
     }
 
+    public Object[] toArray() {
+        int size = exactSize();
+        if (size < 0) {
+            return into(new ArrayList<T>()).toArray();
+        }
+        final Object[] array = new Object[size];
+        consume(new Sink<T>() {
+            int index = 0;
+
+            @Override
+            public boolean accept(T elem) {
+                array[index++] = elem;
+                return index < array.length;
+            }
+        });
+        return array;
+    }
+
+    /**
+     * Joins the elements to a string with the delimiter, appending each element as it is pushed.
+     * <p>
+     * If {@link #exactSize()} is known, the builder is presized as if every element were as long
+     * as the first, capped so that an unusually long first element does not allocate a large
+     * builder up front.
+     */
+    public String join(@Nullable CharSequence delimiter) {
+        final CharSequence separator = delimiter == null ? "" : delimiter;
+        final int size = exactSize();
+        final StringBuilder[] builder = {null};
+        consume(new Sink<T>() {
+            @Override
+            public boolean accept(T elem) {
+                if (builder[0] != null) {
+                    builder[0].append(separator).append(elem);
+                    return true;
+                }
+                String first = String.valueOf(elem);
+                long length = size < 0 ? first.length()
+                        : first.length() + (long) (first.length() + separator.length()) * (size - 1);
+                builder[0] = new StringBuilder((int) Math.max(Math.min(length, MAX_ESTIMATED_LENGTH), 16));
+                builder[0].append(first);
+                return true;
+            }
+        });
+        return builder[0] == null ? "" : builder[0].toString();
+    }
+
     @Override
     public String toString() {
-        Iterator<T> iterator = iterator();
-        if (!iterator.hasNext()) return "()";
-        StringBuilder builder = new StringBuilder("(");
-        while (iterator.hasNext()) {
-            builder.append(iterator.next());
-            if (iterator.hasNext()) {
-                builder.append(',').append(' ');
+        final StringBuilder builder = new StringBuilder("(");
+        consume(new Sink<T>() {
+            boolean first = true;
+
+            @Override
+            public boolean accept(T elem) {
+                if (!first) {
+                    builder.append(',').append(' ');
+                }
+                builder.append(elem);
+                first = false;
+                return true;
             }
-        }
+        });
         builder.append(')');
         return builder.toString();
     }
@@ -19,13 +19,28 @@ package top.srsea.torque.sequence;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
-public class ShortArray extends Sequence<Short> {
+public class ShortArray extends IndexedSequence<Short> {
     private final short[] elems;
 
     public ShortArray(short[] elems) {
         this.elems = elems;
     }
 
+    @Override
+    protected boolean isStored() {
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return elems.length;
+    }
+
+    @Override
+    public Short get(int index) {
+        return elems[index];
+    }
+
     @Override
     public Iterator<Short> iterator() {
         return new Iterator<Short>() {
@@ -47,4 +62,14 @@ public class ShortArray extends Sequence<Short> {
             }
         };
     }
+
+    @Override
+    protected boolean consume(Sink<? super Short> sink) {
+        for (short elem : elems) {
+            if (!sink.accept(elem)) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
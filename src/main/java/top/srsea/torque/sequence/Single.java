@@ -31,4 +31,14 @@ public class Single<T> extends Sequence<T> {
     public Iterator<T> iterator() {
         return Iterators.singleton(elem);
     }
+
+    @Override
+    protected boolean consume(Sink<? super T> sink) {
+        return sink.accept(elem);
+    }
+
+    @Override
+    public int exactSize() {
+        return 1;
+    }
 }
@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.srsea.torque.sequence;
+
+/**
+ * A view of at most limit elements of an indexed sequence, starting at offset.
+ * The bounds are clamped to the size of the underlying sequence on each access.
+ */
+public class Slice<T> extends IndexedSequence<T> {
+    private final IndexedSequence<T> sequence;
+    private final int offset, limit;
+
+    public Slice(IndexedSequence<T> sequence, int offset, int limit) {
+        if (sequence instanceof Slice) {
+            Slice<T> slice = (Slice<T>) sequence;
+            sequence = slice.sequence;
+            limit = Math.min(limit, Math.max(slice.limit - offset, 0));
+            offset = slice.offset + offset < 0 ? Integer.MAX_VALUE : slice.offset + offset;
+        }
+        this.sequence = sequence;
+        this.offset = offset;
+        this.limit = limit;
+    }
+
+    @Override
+    protected boolean isStored() {
+        return sequence.isStored();
+    }
+
+    @Override
+    public int size() {
+        return Math.max(Math.min(sequence.size() - offset, limit), 0);
+    }
+
+    @Override
+    public T get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + size());
+        }
+        return sequence.get(offset + index);
+    }
+
+    @Override
+    protected boolean consume(Sink<? super T> sink) {
+        for (int i = offset, end = offset + size(); i < end; ++i) {
+            if (!sink.accept(sequence.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected boolean consumeBlocks(BlockSink<? super T> sink) {
+        return sequence.consumeBlocks(offset, offset + size(), sink);
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.srsea.torque.sequence;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+
+/**
+ * The elements sorted by a comparator. Each traversal copies the elements into an array,
+ * directly for array-backed sources, and sorts it in place. The sort is stable.
+ *
+ * @param <T> type of element
+ */
+public class Sorted<T> extends Sequence<T> {
+    private final Sequence<T> sequence;
+    private final Comparator<? super T> comparator;
+
+    public Sorted(Sequence<T> sequence, Comparator<? super T> comparator) {
+        this.sequence = sequence;
+        this.comparator = comparator;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return sorted().iterator();
+    }
+
+    @Override
+    protected boolean consume(Sink<? super T> sink) {
+        return sorted().consume(sink);
+    }
+
+    @Override
+    public int exactSize() {
+        return sequence.exactSize();
+    }
+
+    @Override
+    public int estimatedSize() {
+        return sequence.estimatedSize();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Array<T> sorted() {
+        T[] elems = (T[]) sequence.toArray();
+        Arrays.sort(elems, comparator);
+        return new Array<>(elems);
+    }
+}
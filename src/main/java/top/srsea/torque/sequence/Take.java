@@ -57,4 +57,60 @@ public class Take<T> extends Sequence<T> {
             }
         };
     }
+
+    @Override
+    protected boolean consume(final Sink<? super T> sink) {
+        if (count == 0) {
+            return true;
+        }
+        final boolean[] stopped = {false};
+        sequence.consume(new Sink<T>() {
+            int left = count;
+
+            @Override
+            public boolean accept(T elem) {
+                if (!sink.accept(elem)) {
+                    stopped[0] = true;
+                    return false;
+                }
+                return --left > 0;
+            }
+        });
+        return !stopped[0];
+    }
+
+    @Override
+    protected boolean consumeBlocks(final BlockSink<? super T> sink) {
+        if (count == 0) {
+            return true;
+        }
+        final boolean[] stopped = {false};
+        sequence.consumeBlocks(new BlockSink<T>() {
+            int left = count;
+
+            @Override
+            public boolean accept(Object[] elems, int from, int to) {
+                int size = Math.min(to - from, left);
+                left -= size;
+                if (!sink.accept(elems, from, from + size)) {
+                    stopped[0] = true;
+                    return false;
+                }
+                return left > 0;
+            }
+        });
+        return !stopped[0];
+    }
+
+    @Override
+    public int exactSize() {
+        int size = sequence.exactSize();
+        return size < 0 ? -1 : Math.min(size, count);
+    }
+
+    @Override
+    public int estimatedSize() {
+        int size = sequence.estimatedSize();
+        return size < 0 ? count : Math.min(size, count);
+    }
 }
@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.srsea.torque.sequence;
+
+import top.srsea.torque.common.Preconditions;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.PriorityQueue;
+
+/**
+ * The k greatest elements by a comparator, greatest first.
+ * <p>
+ * Each traversal keeps the candidates in a bounded heap, taking O(n log k) time and O(k) memory.
+ *
+ * @param <T> type of element
+ */
+public class TopK<T> extends Sequence<T> {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Sequence<T> sequence;
+    private final int k;
+    private final Comparator<? super T> comparator;
+
+    public TopK(Sequence<T> sequence, int k, Comparator<? super T> comparator) {
+        Preconditions.require(k >= 0, "k < 0");
+        this.sequence = sequence;
+        this.k = k;
+        this.comparator = comparator;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return top().iterator();
+    }
+
+    @Override
+    protected boolean consume(Sink<? super T> sink) {
+        return top().consume(sink);
+    }
+
+    @Override
+    public int exactSize() {
+        int size = sequence.exactSize();
+        return size < 0 ? -1 : Math.min(size, k);
+    }
+
+    @Override
+    public int estimatedSize() {
+        int size = sequence.estimatedSize();
+        return size < 0 ? size : Math.min(size, k);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Array<T> top() {
+        if (k == 0) {
+            return new Array<>((T[]) new Object[0]);
+        }
+        int size = sequence.exactSize();
+        final PriorityQueue<T> heap = new PriorityQueue<>(Math.max(Math.min(size < 0 ? INITIAL_CAPACITY : size, k), 1), comparator);
+        sequence.consume(new Sink<T>() {
+            @Override
+            public boolean accept(T elem) {
+                if (heap.size() < k) {
+                    heap.offer(elem);
+                } else if (comparator.compare(elem, heap.peek()) > 0) {
+                    heap.poll();
+                    heap.offer(elem);
+                }
+                return true;
+            }
+        });
+        T[] elems = (T[]) new Object[heap.size()];
+        for (int i = elems.length - 1; i >= 0; --i) {
+            elems[i] = heap.poll();
+        }
+        return new Array<>(elems);
+    }
+}
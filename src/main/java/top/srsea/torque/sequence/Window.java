@@ -0,0 +1,174 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package top.srsea.torque.sequence;
+
+import top.srsea.torque.common.ObjectHelper;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+/**
+ * Windows of size elements, starting every step elements; a trailing partial window is dropped.
+ * <p>
+ * Elements are kept in a ring buffer, so each one is read once and copied once, and every window is
+ * the same read-only list view over the buffer. A window is only valid until the next one is requested.
+ *
+ * @param <T> type of element
+ */
+public class Window<T> extends Sequence<List<T>> {
+    private final Sequence<T> sequence;
+    private final int size, step;
+
+    public Window(Sequence<T> sequence, int size, int step) {
+        ObjectHelper.verifyPositive(size, "size");
+        ObjectHelper.verifyPositive(step, "step");
+        this.sequence = sequence;
+        this.size = size;
+        this.step = step;
+    }
+
+    @Override
+    public Iterator<List<T>> iterator() {
+        return new Iterator<List<T>>() {
+            final Iterator<T> iterator = sequence.iterator();
+            final Ring<T> ring = new Ring<>(size);
+            boolean first = true;
+            boolean ready;
+
+            private boolean advance() {
+                if (first) {
+                    first = false;
+                    return fill(size);
+                }
+                if (step >= size) {
+                    for (int i = step - size; i > 0; --i) {
+                        if (!iterator.hasNext()) {
+                            return false;
+                        }
+                        iterator.next();
+                    }
+                    return fill(size);
+                }
+                return fill(step);
+            }
+
+            private boolean fill(int n) {
+                for (; n > 0; --n) {
+                    if (!iterator.hasNext()) {
+                        return false;
+                    }
+                    ring.push(iterator.next());
+                }
+                return true;
+            }
+
+            @Override
+            public boolean hasNext() {
+                if (!ready) {
+                    ready = advance();
+                }
+                return ready;
+            }
+
+            @Override
+            public List<T> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                ready = false;
+                return ring;
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    @Override
+    protected boolean consume(final Sink<? super List<T>> sink) {
+        final Ring<T> ring = new Ring<>(size);
+        return sequence.consume(new Sink<T>() {
+            long seen;
+
+            @Override
+            public boolean accept(T elem) {
+                long index = seen++;
+                if (step > size && index % step >= size) {
+                    return true;
+                }
+                ring.push(elem);
+                long end = index - size + 1;
+                return end < 0 || end % step != 0 || sink.accept(ring);
+            }
+        });
+    }
+
+    @Override
+    public int exactSize() {
+        return windows(sequence.exactSize());
+    }
+
+    @Override
+    public int estimatedSize() {
+        return windows(sequence.estimatedSize());
+    }
+
+    private int windows(int count) {
+        return count < 0 ? -1 : count < size ? 0 : (count - size) / step + 1;
+    }
+
+    /**
+     * The last size elements pushed, oldest first.
+     */
+    private static class Ring<T> extends AbstractList<T> implements RandomAccess {
+        private final Object[] elems;
+        private int head, count;
+
+        Ring(int capacity) {
+            elems = new Object[capacity];
+        }
+
+        void push(T elem) {
+            elems[head] = elem;
+            if (++head == elems.length) {
+                head = 0;
+            }
+            if (count < elems.length) {
+                ++count;
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T get(int index) {
+            if (index < 0 || index >= count) {
+                throw new IndexOutOfBoundsException("index: " + index + ", size: " + count);
+            }
+            int position = head - count + index;
+            return (T) elems[position < 0 ? position + elems.length : position];
+        }
+
+        @Override
+        public int size() {
+            return count;
+        }
+    }
+}
@@ -53,4 +53,39 @@ public class Zip<T, U, R> extends Sequence<R> {
             }
         };
     }
+
+    @Override
+    protected boolean consume(final Sink<? super R> sink) {
+        final Iterator<U> otherIterator = other.iterator();
+        final boolean[] stopped = {false};
+        sequence.consume(new Sink<T>() {
+            @Override
+            public boolean accept(T elem) {
+                if (!otherIterator.hasNext()) {
+                    return false;
+                }
+                if (!sink.accept(zipper.invoke(elem, otherIterator.next()))) {
+                    stopped[0] = true;
+                    return false;
+                }
+                return true;
+            }
+        });
+        return !stopped[0];
+    }
+
+    @Override
+    public int exactSize() {
+        int size = sequence.exactSize(), otherSize = exactSize(other);
+        return size < 0 || otherSize < 0 ? -1 : Math.min(size, otherSize);
+    }
+
+    @Override
+    public int estimatedSize() {
+        int size = sequence.estimatedSize(), otherSize = estimatedSize(other);
+        if (size < 0) {
+            return otherSize;
+        }
+        return otherSize < 0 ? size : Math.min(size, otherSize);
+    }
 }
@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.srsea.torque.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import top.srsea.torque.common.Option;
+import top.srsea.torque.common.Result;
+import top.srsea.torque.cons.List;
+import top.srsea.torque.function.Predicate;
+import top.srsea.torque.sequence.Sequence;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Core operations over size elements, measured for allocation by {@link AllocationGate}.
+ * <p>
+ * Each benchmark touches every element once, so bytes per operation divided by size
+ * is the allocation per element.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class AllocationBenchmark {
+    static final Predicate<Integer> EVEN = new Predicate<Integer>() {
+        @Override
+        public boolean invoke(Integer val) {
+            return (val & 1) == 0;
+        }
+    };
+
+    @Param({"1000"})
+    int size;
+
+    Integer[] data;
+    int[] ints;
+    List<Integer> list;
+
+    @Setup
+    public void setup() {
+        data = Data.boxed(size);
+        ints = new int[size];
+        for (int i = 0; i < size; ++i) {
+            ints[i] = i;
+        }
+        list = List.of(data);
+    }
+
+    @Benchmark
+    public long sequenceMap() {
+        return Sequence.from(data).map(Data.INC).fold(0L, Data.SUM);
+    }
+
+    @Benchmark
+    public long sequenceFilter() {
+        return Sequence.from(data).where(EVEN).fold(0L, Data.SUM);
+    }
+
+    @Benchmark
+    public long sequenceChunk() {
+        long sum = 0;
+        for (java.util.List<Integer> chunk : Sequence.from(data).chunk(16)) {
+            sum += chunk.size();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long sequenceIntArray() {
+        return Sequence.from(ints).fold(0L, Data.SUM);
+    }
+
+    @Benchmark
+    public long sequenceIterator() {
+        long sum = 0;
+        for (Integer val : Sequence.from(data).map(Data.INC)) {
+            sum += val;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int sequenceNth() {
+        return Sequence.from(data).where(EVEN).nth(size / 2 - 1).or(0);
+    }
+
+    @Benchmark
+    public long option() {
+        long sum = 0;
+        for (Integer val : data) {
+            sum += Option.some(val).map(Data.INC).where(EVEN).or(0);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long result() {
+        long sum = 0;
+        for (Integer val : data) {
+            sum += Result.success(val).map(Data.INC).value().or(0);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long listMap() {
+        return list.map(Data.INC).foldLeft(0L, Data.SUM);
+    }
+
+    @Benchmark
+    public long listFilter() {
+        return list.where(EVEN).foldLeft(0L, Data.SUM);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.srsea.torque.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Runs {@link AllocationBenchmark} with the GC profiler and compares the normalized
+ * allocation per element against the checked-in thresholds in allocation-thresholds.properties.
+ * <p>
+ * Exits with status 1 if any benchmark allocates more than its threshold, or has none.
+ */
+public class AllocationGate {
+    private static final String ALLOC_RATE_NORM = "gc.alloc.rate.norm";
+
+    public static void main(String[] args) throws Exception {
+        Properties thresholds = thresholds();
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(AllocationBenchmark.class.getName())
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(args.length > 0 ? args[0] : "allocation-result.json")
+                .build()).run();
+        List<String> failures = new ArrayList<>();
+        for (RunResult result : results) {
+            String name = result.getParams().getBenchmark();
+            name = name.substring(name.lastIndexOf('.') + 1);
+            Result<?> norm = result.getSecondaryResults().get(ALLOC_RATE_NORM);
+            if (norm == null) {
+                failures.add(name + ": no " + ALLOC_RATE_NORM + " reported");
+                continue;
+            }
+            double perElement = norm.getScore() / Integer.parseInt(result.getParams().getParam("size"));
+            String threshold = thresholds.getProperty(name);
+            if (threshold == null) {
+                failures.add(name + ": no threshold, measured " + format(perElement) + " B/element");
+            } else if (perElement > Double.parseDouble(threshold)) {
+                failures.add(name + ": " + format(perElement) + " B/element exceeds " + threshold);
+            } else {
+                System.out.println(name + ": " + format(perElement) + " B/element, threshold " + threshold);
+            }
+        }
+        if (!failures.isEmpty()) {
+            for (String failure : failures) {
+                System.err.println(failure);
+            }
+            System.exit(1);
+        }
+    }
+
+    private static Properties thresholds() throws IOException {
+        Properties thresholds = new Properties();
+        try (InputStream in = AllocationGate.class.getResourceAsStream("/allocation-thresholds.properties")) {
+            if (in == null) {
+                throw new IOException("allocation-thresholds.properties not found");
+            }
+            thresholds.load(in);
+        }
+        return thresholds;
+    }
+
+    private static String format(double bytes) {
+        return String.format("%.2f", bytes);
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.srsea.torque.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import top.srsea.torque.function.Function;
+import top.srsea.torque.sequence.Sequence;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Grouping into chunks of the given width, each summed and followed by depth increments.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ChunkBenchmark {
+    static final Function<List<Integer>, Integer> TOTAL = new Function<List<Integer>, Integer>() {
+        @Override
+        public Integer invoke(List<Integer> chunk) {
+            int total = 0;
+            for (Integer val : chunk) {
+                total += val;
+            }
+            return total;
+        }
+    };
+
+    @Param({"1000", "100000"})
+    int size;
+
+    @Param({"1", "3", "5"})
+    int depth;
+
+    @Param({"4", "64"})
+    int width;
+
+    Integer[] data;
+
+    @Setup
+    public void setup() {
+        data = Data.boxed(size);
+    }
+
+    @Benchmark
+    public long chunk() {
+        return Data.sum(Sequence.from(data).chunk(width).map(TOTAL), depth);
+    }
+
+    @Benchmark
+    public long chunkStream() {
+        return Data.sum(IntStream.range(0, (size + width - 1) / width)
+                .mapToObj(i -> {
+                    List<Integer> chunk = new ArrayList<>(width);
+                    for (int j = i * width; j < Math.min(i * width + width, size); ++j) {
+                        chunk.add(data[j]);
+                    }
+                    return chunk;
+                })
+                .map(TOTAL::invoke), depth);
+    }
+
+    @Benchmark
+    public long chunkLoop() {
+        long sum = 0;
+        List<Integer> chunk = new ArrayList<>(width);
+        for (Integer val : data) {
+            chunk.add(val);
+            if (chunk.size() == width) {
+                sum += TOTAL.invoke(chunk) + depth;
+                chunk = new ArrayList<>(width);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            sum += TOTAL.invoke(chunk) + depth;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.srsea.torque.benchmark;
+
+import top.srsea.torque.function.Function;
+import top.srsea.torque.function.Function2;
+import top.srsea.torque.sequence.Sequence;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+final class Data {
+    static final Function<Integer, Integer> INC = new Function<Integer, Integer>() {
+        @Override
+        public Integer invoke(Integer val) {
+            return val + 1;
+        }
+    };
+    static final Function2<Long, Integer, Long> SUM = new Function2<Long, Integer, Long>() {
+        @Override
+        public Long invoke(Long sum, Integer val) {
+            return sum + val;
+        }
+    };
+
+    private Data() {
+    }
+
+    static Integer[] boxed(int size) {
+        Integer[] elems = new Integer[size];
+        for (int i = 0; i < size; ++i) {
+            elems[i] = i;
+        }
+        return elems;
+    }
+
+    static List<List<Integer>> nested(int size, int width) {
+        List<List<Integer>> lists = new ArrayList<>(size / width + 1);
+        for (int i = 0; i < size; i += width) {
+            List<Integer> list = new ArrayList<>(width);
+            for (int j = i; j < Math.min(i + width, size); ++j) {
+                list.add(j);
+            }
+            lists.add(list);
+        }
+        return lists;
+    }
+
+    /**
+     * Appends depth increments to the sequence and sums it.
+     */
+    static long sum(Sequence<Integer> sequence, int depth) {
+        for (int i = 0; i < depth; ++i) {
+            sequence = sequence.map(INC);
+        }
+        return sequence.fold(0L, SUM);
+    }
+
+    /**
+     * Appends depth increments to the stream and sums it.
+     */
+    static long sum(Stream<Integer> stream, int depth) {
+        for (int i = 0; i < depth; ++i) {
+            stream = stream.map(val -> val + 1);
+        }
+        return stream.mapToLong(Integer::longValue).sum();
+    }
+}
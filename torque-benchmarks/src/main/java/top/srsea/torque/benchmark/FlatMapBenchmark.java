@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.srsea.torque.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import top.srsea.torque.function.Function;
+import top.srsea.torque.sequence.Sequence;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Flattening nested lists of the given width, followed by depth increments.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class FlatMapBenchmark {
+    static final Function<List<Integer>, List<Integer>> SELF = new Function<List<Integer>, List<Integer>>() {
+        @Override
+        public List<Integer> invoke(List<Integer> list) {
+            return list;
+        }
+    };
+
+    @Param({"1000", "100000"})
+    int size;
+
+    @Param({"1", "3", "5"})
+    int depth;
+
+    @Param({"1", "16"})
+    int width;
+
+    List<List<Integer>> data;
+
+    @Setup
+    public void setup() {
+        data = Data.nested(size, width);
+    }
+
+    @Benchmark
+    public long flatMap() {
+        return Data.sum(Sequence.from(data).flatMap(SELF), depth);
+    }
+
+    @Benchmark
+    public long flatten() {
+        return Data.sum(Sequence.flatten(data), depth);
+    }
+
+    @Benchmark
+    public long flatMapStream() {
+        return Data.sum(data.stream().flatMap(List::stream), depth);
+    }
+
+    @Benchmark
+    public long flatMapLoop() {
+        long sum = 0;
+        for (List<Integer> list : data) {
+            for (Integer val : list) {
+                sum += val + depth;
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.srsea.torque.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import top.srsea.torque.function.Predicate;
+import top.srsea.torque.sequence.Sequence;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Chains of map and filter stages of the given depth, folded to a sum.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MapFilterBenchmark {
+    static final Predicate<Integer> ODD_OR_BIG = new Predicate<Integer>() {
+        @Override
+        public boolean invoke(Integer val) {
+            return (val & 1) == 1 || val > 64;
+        }
+    };
+
+    @Param({"1000", "100000"})
+    int size;
+
+    @Param({"1", "3", "5"})
+    int depth;
+
+    Integer[] data;
+
+    @Setup
+    public void setup() {
+        data = Data.boxed(size);
+    }
+
+    @Benchmark
+    public long map() {
+        return Data.sum(Sequence.from(data), depth);
+    }
+
+    @Benchmark
+    public long mapBatched() {
+        Sequence<Integer> sequence = Sequence.from(data);
+        for (int i = 0; i < depth; ++i) {
+            sequence = sequence.map(Data.INC);
+        }
+        return sequence.batched().fold(0L, Data.SUM);
+    }
+
+    @Benchmark
+    public long mapStream() {
+        return Data.sum(Arrays.stream(data), depth);
+    }
+
+    @Benchmark
+    public long mapLoop() {
+        long sum = 0;
+        for (Integer val : data) {
+            int result = val;
+            for (int i = 0; i < depth; ++i) {
+                result += 1;
+            }
+            sum += result;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long filter() {
+        Sequence<Integer> sequence = Sequence.from(data);
+        for (int i = 0; i < depth; ++i) {
+            sequence = sequence.where(ODD_OR_BIG).map(Data.INC);
+        }
+        return sequence.fold(0L, Data.SUM);
+    }
+
+    @Benchmark
+    public long filterBatched() {
+        Sequence<Integer> sequence = Sequence.from(data);
+        for (int i = 0; i < depth; ++i) {
+            sequence = sequence.where(ODD_OR_BIG).map(Data.INC);
+        }
+        return sequence.batched().fold(0L, Data.SUM);
+    }
+
+    @Benchmark
+    public long filterStream() {
+        Stream<Integer> stream = Arrays.stream(data);
+        for (int i = 0; i < depth; ++i) {
+            stream = stream.filter(val -> (val & 1) == 1 || val > 64).map(val -> val + 1);
+        }
+        return Data.sum(stream, 0);
+    }
+
+    @Benchmark
+    public long filterLoop() {
+        long sum = 0;
+        outer:
+        for (Integer val : data) {
+            int result = val;
+            for (int i = 0; i < depth; ++i) {
+                if ((result & 1) == 0 && result <= 64) {
+                    continue outer;
+                }
+                result += 1;
+            }
+            sum += result;
+        }
+        return sum;
+    }
+}
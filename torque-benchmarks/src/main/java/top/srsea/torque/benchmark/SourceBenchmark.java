@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.srsea.torque.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import top.srsea.torque.function.Predicate;
+import top.srsea.torque.function.Supplier;
+import top.srsea.torque.sequence.IntSequence;
+import top.srsea.torque.sequence.Sequence;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Generated sources: ranges and generate, followed by depth increments.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SourceBenchmark {
+    static final Supplier<Integer> ZERO = new Supplier<Integer>() {
+        @Override
+        public Integer get() {
+            return 0;
+        }
+    };
+
+    @Param({"1000", "100000"})
+    int size;
+
+    @Param({"1", "3", "5"})
+    int depth;
+
+    Predicate<Integer> below;
+
+    @Setup
+    public void setup() {
+        below = new Predicate<Integer>() {
+            @Override
+            public boolean invoke(Integer val) {
+                return val < size;
+            }
+        };
+    }
+
+    @Benchmark
+    public long range() {
+        return Data.sum(Sequence.range(0, size), depth);
+    }
+
+    @Benchmark
+    public long genericRange() {
+        return Data.sum(Sequence.range((Integer) 0, (Integer) size, Data.INC), depth);
+    }
+
+    @Benchmark
+    public long intRange() {
+        return IntSequence.range(0, size).sum() + (long) size * depth;
+    }
+
+    @Benchmark
+    public long generate() {
+        return Data.sum(Sequence.generateWhile(ZERO, below, Data.INC), depth);
+    }
+
+    @Benchmark
+    public long rangeStream() {
+        return Data.sum(IntStream.range(0, size).boxed(), depth);
+    }
+
+    @Benchmark
+    public long generateStream() {
+        return Data.sum(Stream.iterate(0, val -> val + 1).limit(size), depth);
+    }
+
+    @Benchmark
+    public long rangeLoop() {
+        long sum = 0;
+        for (int i = 0; i < size; ++i) {
+            sum += i + depth;
+        }
+        return sum;
+    }
+}
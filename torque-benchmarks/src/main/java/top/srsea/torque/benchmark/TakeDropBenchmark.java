@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.srsea.torque.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import top.srsea.torque.sequence.Sequence;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dropping the first quarter and taking the next half, followed by depth increments.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class TakeDropBenchmark {
+    @Param({"1000", "100000"})
+    int size;
+
+    @Param({"1", "3", "5"})
+    int depth;
+
+    Integer[] data;
+
+    @Setup
+    public void setup() {
+        data = Data.boxed(size);
+    }
+
+    @Benchmark
+    public long takeDrop() {
+        return Data.sum(Sequence.from(data).drop(size / 4).take(size / 2), depth);
+    }
+
+    @Benchmark
+    public long takeDropIterable() {
+        return Data.sum(Sequence.from(Arrays.asList(data)).drop(size / 4).take(size / 2), depth);
+    }
+
+    @Benchmark
+    public long takeDropStream() {
+        return Data.sum(Arrays.stream(data).skip(size / 4).limit(size / 2), depth);
+    }
+
+    @Benchmark
+    public long takeDropLoop() {
+        long sum = 0;
+        for (int i = size / 4; i < size / 4 + size / 2; ++i) {
+            sum += data[i] + depth;
+        }
+        return sum;
+    }
+}
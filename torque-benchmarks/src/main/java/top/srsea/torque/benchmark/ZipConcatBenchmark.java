@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2020 sea
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package top.srsea.torque.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import top.srsea.torque.function.Function2;
+import top.srsea.torque.sequence.Sequence;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Combining two sources with zip and concat, followed by depth increments.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ZipConcatBenchmark {
+    static final Function2<Integer, Integer, Integer> ADD = new Function2<Integer, Integer, Integer>() {
+        @Override
+        public Integer invoke(Integer a, Integer b) {
+            return a + b;
+        }
+    };
+
+    @Param({"1000", "100000"})
+    int size;
+
+    @Param({"1", "3", "5"})
+    int depth;
+
+    Integer[] data;
+    List<Integer> other;
+
+    @Setup
+    public void setup() {
+        data = Data.boxed(size);
+        other = Arrays.asList(Data.boxed(size));
+    }
+
+    @Benchmark
+    public long zip() {
+        return Data.sum(Sequence.from(data).zip(other, ADD), depth);
+    }
+
+    @Benchmark
+    public long zipStream() {
+        return Data.sum(IntStream.range(0, size).mapToObj(i -> data[i] + other.get(i)), depth);
+    }
+
+    @Benchmark
+    public long zipLoop() {
+        long sum = 0;
+        for (int i = 0; i < size; ++i) {
+            sum += data[i] + other.get(i) + depth;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long concat() {
+        return Data.sum(Sequence.from(data).concat(other), depth);
+    }
+
+    @Benchmark
+    public long concatStream() {
+        return Data.sum(Stream.concat(Arrays.stream(data), other.stream()), depth);
+    }
+
+    @Benchmark
+    public long concatLoop() {
+        long sum = 0;
+        for (Integer val : data) {
+            sum += val + depth;
+        }
+        for (Integer val : other) {
+            sum += val + depth;
+        }
+        return sum;
+    }
+}